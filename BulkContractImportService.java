@@ -0,0 +1,361 @@
+package org.project.project.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Importación masiva de contratos OpenAPI (p.ej. re-indexar todas las versiones tras una migración)
+ *
+ * Un lote de versiones se encola como trabajo y recibe un jobId de inmediato; los trabajos se
+ * procesan de uno en uno fuera de los hilos de Tomcat. Los contratos se parsean en un pool
+ * compartido por todos los lotes, con un límite global de concurrencia: el contrato de una
+ * versión sólo se lee de la base de datos (Supplier) cuando hay un hueco libre, por lo que en
+ * memoria hay como mucho {@code concurrency} contratos a la vez aunque haya varios lotes.
+ * Los endpoints de cada versión importada se guardan en el catálogo (y en el índice de búsqueda).
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class BulkContractImportService {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    @Autowired
+    private EndpointCatalogStore endpointCatalogStore;
+
+    @Autowired
+    private VersionContractService versionContractService;
+
+    @Value("${openapi.import.timeout-ms:30000}")
+    private long defaultTimeoutMs;
+
+    /**
+     * Máximo de versiones por lote
+     */
+    @Value("${openapi.import.max-versions:500}")
+    private int maxVersions;
+
+    @Value("${openapi.import.retention-minutes:30}")
+    private long retentionMinutes;
+
+    // Huecos de parseo compartidos por todos los lotes (back-pressure global)
+    private final Semaphore slots;
+    private final ExecutorService workers;
+
+    // Recorre los lotes encolados, de uno en uno
+    private final ThreadPoolExecutor batches;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkContractImportService(@Value("${openapi.import.concurrency:4}") int concurrency,
+                                     @Value("${openapi.import.queue-capacity:10}") int queueCapacity) {
+        int workerCount = Math.max(1, concurrency);
+        this.slots = new Semaphore(workerCount);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "contract-import-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batches = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "contract-import-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Encola la importación de los contratos guardados de varias versiones
+     *
+     * @param ownerId Usuario que lanza la importación (el único que puede consultarla)
+     * @param versionIds Versiones a importar (como mucho openapi.import.max-versions)
+     * @return ID del trabajo
+     * @throws IllegalArgumentException si el lote está vacío o supera el máximo de versiones
+     * @throws RejectedExecutionException si la cola de lotes está llena
+     */
+    public String submit(Long ownerId, List<Long> versionIds) {
+        if (versionIds.isEmpty()) {
+            throw new IllegalArgumentException("No se indicó ninguna versión");
+        }
+        if (versionIds.size() > maxVersions) {
+            throw new IllegalArgumentException("Lote de " + versionIds.size() + " versiones (máximo " + maxVersions + ")");
+        }
+        purgeExpired();
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), ownerId, List.copyOf(versionIds));
+        jobs.put(job.id, job);
+        try {
+            batches.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("Cola de importación masiva llena ({} lotes en espera)", batches.getQueue().size());
+            throw e;
+        }
+        return job.id;
+    }
+
+    /**
+     * Estado de un trabajo (con el resultado por versión al terminar)
+     *
+     * @return Estado, o vacío si el trabajo no existe o es de otro usuario
+     */
+    public Optional<Map<String, Object>> getStatus(String jobId, Long ownerId) {
+        ImportJob job = jobs.get(jobId);
+        return job != null && job.ownerId.equals(ownerId) ? Optional.of(job.snapshot()) : Optional.empty();
+    }
+
+    private void run(ImportJob job) {
+        job.status = JobStatus.RUNNING;
+        job.startedAt = Instant.now();
+        try {
+            Iterator<ContractSource> sources = job.versionIds.stream()
+                    .map(versionId -> new ContractSource(String.valueOf(versionId), () -> versionContractService
+                            .contratoDeVersion(versionId)
+                            .orElseThrow(() -> new IllegalArgumentException("La versión " + versionId + " no tiene contrato"))))
+                    .iterator();
+            job.results = importAll(sources, defaultTimeoutMs,
+                    (id, parsed) -> endpointCatalogStore.store(Long.valueOf(id), parsed.contract(), parsed.endpoints()),
+                    result -> job.processed.incrementAndGet());
+            job.status = JobStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Error en la importación masiva {}: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Importa un lote de contratos ya cargados en memoria, sin guardarlos en el catálogo
+     *
+     * @param contracts Contratos por identificador
+     * @return Resultado por contrato, en el orden del mapa
+     */
+    public List<ImportResult> importAll(Map<String, String> contracts) {
+        List<ContractSource> sources = new ArrayList<>(contracts.size());
+        contracts.forEach((id, contract) -> sources.add(new ContractSource(id, () -> contract)));
+        return importAll(sources.iterator(), defaultTimeoutMs, null, null);
+    }
+
+    /**
+     * Importa un lote de contratos en el pool compartido con timeout por contrato
+     *
+     * @param sources Contratos a importar; cada uno se carga sólo al empezar a procesarse
+     * @param timeoutMs Tiempo máximo por contrato desde que empieza a procesarse
+     * @param onParsed Callback opcional con el contrato y sus endpoints (p.ej. para persistirlos);
+     *                 los endpoints no se retienen en el resultado
+     * @param onResult Callback opcional al terminar cada contrato (p.ej. para informar el avance)
+     * @return Resultado por contrato (estado, duración, número de endpoints), en el orden de entrada
+     */
+    public List<ImportResult> importAll(Iterator<ContractSource> sources, long timeoutMs,
+                                        BiConsumer<String, ParsedContract> onParsed,
+                                        Consumer<ImportResult> onResult) {
+        long batchStart = System.nanoTime();
+        List<CompletableFuture<ImportResult>> futures = new ArrayList<>();
+        try {
+            while (sources.hasNext()) {
+                ContractSource source = sources.next();
+
+                // Back-pressure: no se carga el siguiente contrato hasta que haya un hueco libre
+                slots.acquire();
+                ParseGuard guard = new ParseGuard(timeoutMs);
+                CompletableFuture<ImportResult> task;
+                try {
+                    task = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return importOne(source, guard, onParsed);
+                        } finally {
+                            slots.release();
+                        }
+                    }, workers);
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    throw e;
+                }
+                task = task.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                        .exceptionally(ex -> {
+                            // El parseo se detiene en su siguiente checkpoint y libera su hueco
+                            guard.cancel();
+                            return failed(source.id(), ex, timeoutMs);
+                        });
+                if (onResult != null) {
+                    task = task.whenComplete((result, ex) -> onResult.accept(result));
+                }
+                futures.add(task);
+            }
+            List<ImportResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+            log.info("Importación masiva: {} contratos en {} ms ({} con error)",
+                    results.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart),
+                    results.stream().filter(r -> r.getStatus() != ImportStatus.OK).count());
+            return results;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación masiva interrumpida", e);
+        }
+    }
+
+    private ImportResult importOne(ContractSource source, ParseGuard guard,
+                                   BiConsumer<String, ParsedContract> onParsed) {
+        long start = System.nanoTime();
+        String contract = source.contract().get();
+        List<EndpointInfo> endpoints = openApiParserService.parseContract(contract,
+                OpenApiParserService.ParseProgress.NONE, guard);
+        if (onParsed != null) {
+            onParsed.accept(source.id(), new ParsedContract(contract, endpoints));
+        }
+
+        ImportResult result = new ImportResult();
+        result.setId(source.id());
+        result.setStatus(ImportStatus.OK);
+        result.setEndpointCount(endpoints.size());
+        result.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * Un contrato que no es OpenAPI válido llega aquí como IllegalArgumentException (envuelta en
+     * CompletionException) y se informa como FAILED; los rechazos por límites como REJECTED
+     */
+    private static ImportResult failed(String id, Throwable ex, long timeoutMs) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        ImportResult result = new ImportResult();
+        result.setId(id);
+        if (cause instanceof TimeoutException
+                || (cause instanceof ContractRejectedException rejection
+                    && rejection.getReason() == ContractRejectedException.Reason.PARSE_TIMEOUT)) {
+            result.setStatus(ImportStatus.TIMEOUT);
+            result.setDurationMs(timeoutMs);
+            result.setError("Tiempo máximo excedido (" + timeoutMs + " ms)");
+        } else if (cause instanceof ContractRejectedException rejection) {
+            result.setStatus(ImportStatus.REJECTED);
+            result.setError(rejection.getReason() + ": " + rejection.getMessage());
+        } else {
+            result.setStatus(ImportStatus.FAILED);
+            result.setError(cause.getMessage());
+        }
+        log.warn("Contrato {} no importado: {}", id, result.getError());
+        return result;
+    }
+
+    private void purgeExpired() {
+        Instant limit = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batches.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Contrato a importar; el texto se obtiene sólo cuando empieza su procesamiento
+     */
+    public record ContractSource(String id, Supplier<String> contract) {
+    }
+
+    /**
+     * Contrato importado y los endpoints extraídos de él
+     */
+    public record ParsedContract(String contract, List<EndpointInfo> endpoints) {
+    }
+
+    public enum ImportStatus {
+        OK, FAILED, TIMEOUT, REJECTED
+    }
+
+    /**
+     * Resultado de la importación de un contrato
+     */
+    @Data
+    public static class ImportResult {
+        private String id;
+        private ImportStatus status;
+        private int endpointCount;
+        private long durationMs;
+        private String error;
+    }
+
+    /**
+     * Lote de importación y su avance
+     */
+    private static final class ImportJob {
+        private final String id;
+        private final Long ownerId;
+        private final List<Long> versionIds;
+        private final Instant createdAt = Instant.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile List<ImportResult> results;
+        private volatile String error;
+
+        ImportJob(String id, Long ownerId, List<Long> versionIds) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.versionIds = versionIds;
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("jobId", id);
+            snapshot.put("status", status);
+            snapshot.put("processed", processed.get());
+            snapshot.put("total", versionIds.size());
+            snapshot.put("createdAt", createdAt);
+            snapshot.put("startedAt", startedAt);
+            snapshot.put("finishedAt", finishedAt);
+            List<ImportResult> current = results;
+            if (current != null) {
+                snapshot.put("results", current);
+                snapshot.put("imported", current.stream().filter(r -> r.getStatus() == ImportStatus.OK).count());
+            }
+            if (error != null) {
+                snapshot.put("error", error);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validador de peticiones precompilado a partir de una operación del contrato
+ *
+ * Los parámetros y el schema del body se aplanan al compilar en arreglos de chequeos
+ * (nombre, ubicación, obligatoriedad, tipo; para el body además el índice del campo
+ * padre). Validar una petición sólo recorre esos arreglos: no hay recorrido de schemas
+ * ni reflexión por llamada. Las instancias son inmutables y seguras entre hilos.
+ *
+ * Los elementos de los arrays se validan con su propio arreglo de chequeos (tipo, enum y, si
+ * son objetos, sus campos). El número de chequeos compilados por operación está acotado por
+ * maxExampleNodes de {@link ParserLimits}.
+ *
+ * Sólo los bodies JSON (application/json y +json) se validan campo a campo; para el resto de
+ * media types (XML, formularios, multipart...) sólo se comprueba que venga el body, así que el
+ * llamador debe pasar un nodo no nulo (p. ej. un TextNode con el texto) cuando lo haya.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public final class CompiledRequestValidator {
+
+    private static final String COMPONENTS_SCHEMAS_PREFIX = "#/components/schemas/";
+    private static final int MAX_BODY_DEPTH = 8;
+    // Más errores no aportan: un array grande de elementos inválidos no genera una respuesta enorme
+    private static final int MAX_ERRORS = 100;
+
+    private static final byte KIND_ANY = 0;
+    private static final byte KIND_STRING = 1;
+    private static final byte KIND_INTEGER = 2;
+    private static final byte KIND_NUMBER = 3;
+    private static final byte KIND_BOOLEAN = 4;
+    private static final byte KIND_OBJECT = 5;
+    private static final byte KIND_ARRAY = 6;
+
+    // Parámetros
+    private final String[] paramNames;
+    private final ParameterLocation[] paramLocations;
+    private final boolean[] paramRequired;
+    private final byte[] paramKinds;
+
+    // Body
+    private final boolean bodyRequired;
+    private final Checks body;
+
+    private CompiledRequestValidator(Builder builder) {
+        this.paramNames = builder.paramNames.toArray(new String[0]);
+        this.paramLocations = builder.paramLocations.toArray(new ParameterLocation[0]);
+        this.paramRequired = toBooleans(builder.paramRequired);
+        this.paramKinds = toBytes(builder.paramKinds);
+        this.bodyRequired = builder.bodyRequired;
+        this.body = builder.body != null ? builder.body.build() : Checks.ANY;
+    }
+
+    /**
+     * Compila el validador de una operación con los límites por defecto
+     *
+     * @param openAPI Contrato (para resolver $ref de components/schemas)
+     * @param operation Operación a validar
+     */
+    public static CompiledRequestValidator compile(OpenAPI openAPI, Operation operation) {
+        return compile(openAPI, operation, ParserLimits.defaults());
+    }
+
+    /**
+     * Compila el validador de una operación
+     *
+     * @param openAPI Contrato (para resolver $ref de components/schemas)
+     * @param operation Operación a validar
+     * @param limits Límites del parser (maxExampleNodes acota los chequeos del body)
+     * @throws ContractRejectedException si el body se aplana en más de maxExampleNodes chequeos
+     */
+    public static CompiledRequestValidator compile(OpenAPI openAPI, Operation operation, ParserLimits limits) {
+        Map<String, Schema> components = openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null
+                ? openAPI.getComponents().getSchemas()
+                : Collections.emptyMap();
+        Builder builder = new Builder();
+
+        if (operation.getParameters() != null) {
+            for (Parameter param : operation.getParameters()) {
+                ParameterLocation location = ParameterLocation.fromValue(param.getIn());
+                if (param.getName() == null || location == null) {
+                    continue;
+                }
+                builder.paramNames.add(param.getName());
+                builder.paramLocations.add(location);
+                builder.paramRequired.add(location == ParameterLocation.PATH || Boolean.TRUE.equals(param.getRequired()));
+                builder.paramKinds.add(kindOf(resolve(param.getSchema(), components)));
+            }
+        }
+
+        if (operation.getRequestBody() != null && operation.getRequestBody().getContent() != null) {
+            MediaType json = jsonContent(operation.getRequestBody().getContent());
+            builder.bodyRequired = Boolean.TRUE.equals(operation.getRequestBody().getRequired());
+            if (json != null && json.getSchema() != null) {
+                builder.body = checks(resolve(json.getSchema(), components), components,
+                        new int[]{limits.maxExampleNodes()}, 0, new HashSet<>());
+            }
+        }
+        return new CompiledRequestValidator(builder);
+    }
+
+    /**
+     * Contenido JSON del body: application/json, o el primer media type +json
+     */
+    private static MediaType jsonContent(Map<String, MediaType> content) {
+        MediaType json = null;
+        for (Map.Entry<String, MediaType> entry : content.entrySet()) {
+            String mediaType = MediaTypeExampleRegistry.normalize(entry.getKey());
+            if (mediaType.equals("application/json")) {
+                return entry.getValue();
+            }
+            if (json == null && mediaType.endsWith("+json")) {
+                json = entry.getValue();
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Valida una petición
+     *
+     * @param request Acceso a parámetros de la petición
+     * @param body Body ya parseado (null si no hay body)
+     * @return Lista de errores; vacía si la petición es válida
+     */
+    public List<String> validate(RequestView request, JsonNode body) {
+        List<String> errors = null;
+
+        for (int i = 0; i < paramNames.length; i++) {
+            String value = request.parameter(paramLocations[i], paramNames[i]);
+            if (value == null) {
+                if (paramRequired[i]) {
+                    errors = add(errors, "Falta el parámetro obligatorio " + paramLocations[i] + " '" + paramNames[i] + "'");
+                }
+            } else if (!matchesText(paramKinds[i], value)) {
+                errors = add(errors, "Parámetro '" + paramNames[i] + "' no es de tipo " + kindName(paramKinds[i]));
+            }
+        }
+
+        if (body == null || body.isMissingNode() || body.isNull()) {
+            if (bodyRequired) {
+                errors = add(errors, "El body es obligatorio");
+            }
+            return errors != null ? errors : List.of();
+        }
+        if (!matchesNode(this.body.kind, body)) {
+            errors = add(errors, "El body no es de tipo " + kindName(this.body.kind));
+            return errors;
+        }
+        errors = validateNode(this.body, body, "", errors);
+        return errors != null ? errors : List.of();
+    }
+
+    /**
+     * Número total de chequeos compilados (parámetros + campos y elementos del body)
+     */
+    public int checkCount() {
+        return paramNames.length + body.count();
+    }
+
+    /**
+     * Campos (si es objeto) o elementos (si es array) de un valor cuyo tipo ya se comprobó
+     */
+    private static List<String> validateNode(Checks checks, JsonNode node, String path, List<String> errors) {
+        if (node.isObject() && checks.fieldNames.length > 0) {
+            return validateFields(checks, node, path.isEmpty() ? "" : path + ".", errors);
+        }
+        if (node.isArray() && checks.items != null) {
+            return validateItems(checks.items, node, path, errors);
+        }
+        return errors;
+    }
+
+    private static List<String> validateFields(Checks checks, JsonNode object, String prefix, List<String> errors) {
+        JsonNode[] values = new JsonNode[checks.fieldNames.length];
+        for (int i = 0; i < checks.fieldNames.length && !full(errors); i++) {
+            JsonNode parent = checks.fieldParents[i] < 0 ? object : values[checks.fieldParents[i]];
+            if (parent == null || !parent.isObject()) {
+                continue; // Padre ausente o inválido: ya reportado
+            }
+            JsonNode value = parent.get(checks.fieldNames[i]);
+            values[i] = value;
+            String path = prefix + checks.fieldPaths[i];
+            if (value == null || value.isNull()) {
+                if (checks.fieldRequired[i]) {
+                    errors = add(errors, "Falta el campo obligatorio '" + path + "'");
+                }
+            } else if (!matchesNode(checks.fieldKinds[i], value)) {
+                errors = add(errors, "Campo '" + path + "' no es de tipo " + kindName(checks.fieldKinds[i]));
+                values[i] = null;
+            } else if (checks.fieldEnums[i] != null && !checks.fieldEnums[i].contains(value.asText())) {
+                errors = add(errors, "Campo '" + path + "' no es un valor permitido");
+            } else if (checks.fieldItems[i] != null && value.isArray()) {
+                errors = validateItems(checks.fieldItems[i], value, path, errors);
+            }
+        }
+        return errors;
+    }
+
+    private static List<String> validateItems(Checks items, JsonNode array, String path, List<String> errors) {
+        int index = 0;
+        for (Iterator<JsonNode> it = array.elements(); it.hasNext() && !full(errors); index++) {
+            JsonNode item = it.next();
+            String itemPath = path + "[" + index + "]";
+            if (!matchesNode(items.kind, item)) {
+                errors = add(errors, "Elemento '" + itemPath + "' no es de tipo " + kindName(items.kind));
+            } else if (items.enumValues != null && !items.enumValues.contains(item.asText())) {
+                errors = add(errors, "Elemento '" + itemPath + "' no es un valor permitido");
+            } else {
+                errors = validateNode(items, item, itemPath, errors);
+            }
+        }
+        return errors;
+    }
+
+    private static boolean full(List<String> errors) {
+        return errors != null && errors.size() >= MAX_ERRORS;
+    }
+
+    // --- Compilación ---
+
+    /**
+     * Chequeos de un valor: su tipo y enum, sus campos aplanados y los de sus elementos
+     *
+     * @param budget Chequeos que aún se pueden compilar para la operación (se descuentan aquí)
+     */
+    private static ChecksBuilder checks(Schema schema, Map<String, Schema> components, int[] budget,
+                                        int depth, Set<String> refStack) {
+        ChecksBuilder checks = new ChecksBuilder(kindOf(schema), enumOf(schema));
+        consume(budget);
+        if (schema != null && depth < MAX_BODY_DEPTH) {
+            checks.items = items(schema, components, budget, depth, refStack);
+            flatten(schema, components, checks, budget, -1, "", depth, refStack);
+        }
+        return checks;
+    }
+
+    /**
+     * Chequeos de los elementos de un array (null si no es array o sus elementos no se validan)
+     */
+    private static ChecksBuilder items(Schema schema, Map<String, Schema> components, int[] budget,
+                                       int depth, Set<String> refStack) {
+        Schema items = kindOf(schema) == KIND_ARRAY ? schema.getItems() : null;
+        if (items == null) {
+            return null;
+        }
+        String ref = items.get$ref();
+        if (ref != null && refStack.contains(ref)) {
+            return null; // Ciclo de referencias
+        }
+        if (ref != null) {
+            refStack.add(ref);
+        }
+        ChecksBuilder checks = checks(resolve(items, components), components, budget, depth + 1, refStack);
+        if (ref != null) {
+            refStack.remove(ref);
+        }
+        return checks.isTrivial() ? null : checks;
+    }
+
+    private static void consume(int[] budget) {
+        if (--budget[0] < 0) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.EXAMPLE_TOO_LARGE,
+                    "El body de la operación requiere más chequeos que el máximo de nodos por ejemplo");
+        }
+    }
+
+    private static void flatten(Schema schema, Map<String, Schema> components, ChecksBuilder builder, int[] budget,
+                                int parent, String prefix, int depth, Set<String> refStack) {
+        if (schema == null || depth >= MAX_BODY_DEPTH) {
+            return;
+        }
+        Map<String, Schema> properties = properties(schema, components);
+        if (properties.isEmpty()) {
+            return;
+        }
+        Set<String> required = new HashSet<>(requiredOf(schema, components));
+
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+            String ref = entry.getValue() != null ? entry.getValue().get$ref() : null;
+            if (ref != null && refStack.contains(ref)) {
+                continue; // Ciclo de referencias
+            }
+            Schema property = resolve(entry.getValue(), components);
+            int index = builder.fieldNames.size();
+            String path = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            consume(budget);
+
+            builder.fieldNames.add(entry.getKey());
+            builder.fieldPaths.add(path);
+            builder.fieldParents.add(parent);
+            builder.fieldRequired.add(required.contains(entry.getKey()));
+            builder.fieldKinds.add(kindOf(property));
+            builder.fieldEnums.add(enumOf(property));
+
+            if (ref != null) {
+                refStack.add(ref);
+            }
+            builder.fieldItems.add(items(property, components, budget, depth + 1, refStack));
+            flatten(property, components, builder, budget, index, path, depth + 1, refStack);
+            if (ref != null) {
+                refStack.remove(ref);
+            }
+        }
+    }
+
+    /**
+     * Propiedades del schema, combinando las de allOf
+     */
+    private static Map<String, Schema> properties(Schema schema, Map<String, Schema> components) {
+        if (schema instanceof ComposedSchema composed && composed.getAllOf() != null) {
+            Map<String, Schema> merged = new LinkedHashMap<>();
+            for (Schema part : composed.getAllOf()) {
+                merged.putAll(properties(resolve(part, components), components));
+            }
+            if (composed.getProperties() != null) {
+                merged.putAll(composed.getProperties());
+            }
+            return merged;
+        }
+        Map<String, Schema> properties = schema != null ? schema.getProperties() : null;
+        return properties != null ? properties : Collections.emptyMap();
+    }
+
+    private static List<String> requiredOf(Schema schema, Map<String, Schema> components) {
+        List<String> required = new ArrayList<>();
+        if (schema.getRequired() != null) {
+            required.addAll(schema.getRequired());
+        }
+        if (schema instanceof ComposedSchema composed && composed.getAllOf() != null) {
+            for (Schema part : composed.getAllOf()) {
+                Schema resolved = resolve(part, components);
+                if (resolved != null) {
+                    required.addAll(requiredOf(resolved, components));
+                }
+            }
+        }
+        return required;
+    }
+
+    private static Schema resolve(Schema schema, Map<String, Schema> components) {
+        // Cadena de $ref acotada para no quedar en bucle con alias circulares
+        for (int hops = 0; schema != null && schema.get$ref() != null && hops < MAX_BODY_DEPTH; hops++) {
+            String ref = schema.get$ref();
+            schema = ref.startsWith(COMPONENTS_SCHEMAS_PREFIX)
+                    ? components.get(ref.substring(COMPONENTS_SCHEMAS_PREFIX.length()))
+                    : null;
+        }
+        return schema;
+    }
+
+    private static byte kindOf(Schema schema) {
+        if (schema == null) {
+            return KIND_ANY;
+        }
+        if (schema instanceof ArraySchema) {
+            return KIND_ARRAY;
+        }
+        String type = schema.getType();
+        if (type == null) {
+            return schema.getProperties() != null ? KIND_OBJECT : KIND_ANY;
+        }
+        switch (type) {
+            case "string":
+                return KIND_STRING;
+            case "integer":
+                return KIND_INTEGER;
+            case "number":
+                return KIND_NUMBER;
+            case "boolean":
+                return KIND_BOOLEAN;
+            case "object":
+                return KIND_OBJECT;
+            case "array":
+                return KIND_ARRAY;
+            default:
+                return KIND_ANY;
+        }
+    }
+
+    private static Set<String> enumOf(Schema schema) {
+        if (schema == null || schema.getEnum() == null || schema.getEnum().isEmpty()) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        for (Object value : schema.getEnum()) {
+            values.add(String.valueOf(value));
+        }
+        return Set.copyOf(values);
+    }
+
+    // --- Validación ---
+
+    private static boolean matchesText(byte kind, String value) {
+        switch (kind) {
+            case KIND_INTEGER:
+                return isInteger(value);
+            case KIND_NUMBER:
+                return isNumber(value);
+            case KIND_BOOLEAN:
+                return "true".equals(value) || "false".equals(value);
+            default:
+                return true;
+        }
+    }
+
+    private static boolean matchesNode(byte kind, JsonNode value) {
+        switch (kind) {
+            case KIND_STRING:
+                return value.isTextual();
+            case KIND_INTEGER:
+                return value.isIntegralNumber();
+            case KIND_NUMBER:
+                return value.isNumber();
+            case KIND_BOOLEAN:
+                return value.isBoolean();
+            case KIND_OBJECT:
+                return value.isObject();
+            case KIND_ARRAY:
+                return value.isArray();
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isInteger(String value) {
+        int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        if (start == value.length()) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumber(String value) {
+        if (isInteger(value)) {
+            return true;
+        }
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String kindName(byte kind) {
+        switch (kind) {
+            case KIND_STRING:
+                return "string";
+            case KIND_INTEGER:
+                return "integer";
+            case KIND_NUMBER:
+                return "number";
+            case KIND_BOOLEAN:
+                return "boolean";
+            case KIND_OBJECT:
+                return "object";
+            case KIND_ARRAY:
+                return "array";
+            default:
+                return "any";
+        }
+    }
+
+    private static List<String> add(List<String> errors, String error) {
+        List<String> result = errors != null ? errors : new ArrayList<>(4);
+        result.add(error);
+        return result;
+    }
+
+    private static boolean[] toBooleans(List<Boolean> values) {
+        boolean[] result = new boolean[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    private static byte[] toBytes(List<Byte> values) {
+        byte[] result = new byte[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Acceso a los parámetros de una petición (path, query, header, cookie)
+     */
+    @FunctionalInterface
+    public interface RequestView {
+        /**
+         * @return Valor del parámetro o null si no viene en la petición
+         */
+        String parameter(ParameterLocation location, String name);
+    }
+
+    /**
+     * Chequeos de un valor del body: tipo y enum propios, campos en orden DFS (parent[i] = -1
+     * para los del primer nivel, rutas relativas al valor) y, si es array, los de sus elementos
+     */
+    private static final class Checks {
+        private static final Checks ANY = new ChecksBuilder(KIND_ANY, null).build();
+
+        private final byte kind;
+        private final Set<String> enumValues;
+        private final Checks items;
+        private final String[] fieldNames;
+        private final String[] fieldPaths;
+        private final int[] fieldParents;
+        private final boolean[] fieldRequired;
+        private final byte[] fieldKinds;
+        private final Set<String>[] fieldEnums;
+        private final Checks[] fieldItems;
+
+        private Checks(ChecksBuilder builder) {
+            this.kind = builder.kind;
+            this.enumValues = builder.enumValues;
+            this.items = builder.items != null ? builder.items.build() : null;
+            this.fieldNames = builder.fieldNames.toArray(new String[0]);
+            this.fieldPaths = builder.fieldPaths.toArray(new String[0]);
+            this.fieldParents = builder.fieldParents.stream().mapToInt(Integer::intValue).toArray();
+            this.fieldRequired = toBooleans(builder.fieldRequired);
+            this.fieldKinds = toBytes(builder.fieldKinds);
+            @SuppressWarnings("unchecked")
+            Set<String>[] enums = builder.fieldEnums.toArray(new Set[0]);
+            this.fieldEnums = enums;
+            this.fieldItems = builder.fieldItems.stream()
+                    .map(fieldItems -> fieldItems != null ? fieldItems.build() : null)
+                    .toArray(Checks[]::new);
+        }
+
+        int count() {
+            int count = fieldNames.length + (items != null ? items.count() : 0);
+            for (Checks checks : fieldItems) {
+                count += checks != null ? checks.count() : 0;
+            }
+            return count;
+        }
+    }
+
+    private static final class ChecksBuilder {
+        private final byte kind;
+        private final Set<String> enumValues;
+        private ChecksBuilder items;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<String> fieldPaths = new ArrayList<>();
+        private final List<Integer> fieldParents = new ArrayList<>();
+        private final List<Boolean> fieldRequired = new ArrayList<>();
+        private final List<Byte> fieldKinds = new ArrayList<>();
+        private final List<Set<String>> fieldEnums = new ArrayList<>();
+        private final List<ChecksBuilder> fieldItems = new ArrayList<>();
+
+        ChecksBuilder(byte kind, Set<String> enumValues) {
+            this.kind = kind;
+            this.enumValues = enumValues;
+        }
+
+        /**
+         * Sin nada que comprobar más allá de aceptar cualquier valor
+         */
+        boolean isTrivial() {
+            return kind == KIND_ANY && enumValues == null && items == null && fieldNames.isEmpty();
+        }
+
+        Checks build() {
+            return new Checks(this);
+        }
+    }
+
+    private static final class Builder {
+        private final List<String> paramNames = new ArrayList<>();
+        private final List<ParameterLocation> paramLocations = new ArrayList<>();
+        private final List<Boolean> paramRequired = new ArrayList<>();
+        private final List<Byte> paramKinds = new ArrayList<>();
+        private boolean bodyRequired;
+        private ChecksBuilder body;
+    }
+}
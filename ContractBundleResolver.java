@@ -0,0 +1,448 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Resuelve contratos OpenAPI repartidos en varios archivos (zip o directorio)
+ *
+ * Los $ref relativos entre archivos se resuelven sobre los árboles del
+ * {@link ReferencedDocumentCache} (compartido entre contratos) y el resultado es un único
+ * documento: los schemas externos pasan a components/schemas (con lo que siguen
+ * memoizándose y los ciclos se mantienen como $ref) y el resto de referencias externas
+ * (parámetros, respuestas, path items...) se copian en su lugar.
+ *
+ * Como un mismo archivo puede copiarse muchas veces (referencias en cadena), los nodos copiados
+ * se cuentan contra un presupuesto derivado de maxContractBytes: un bundle que se expande más
+ * allá de lo que cabría en un contrato se rechaza antes de construirlo en memoria.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class ContractBundleResolver {
+
+    private static final String SCHEMAS_PREFIX = "#/components/schemas/";
+    private static final int MAX_INLINE_DEPTH = 64;
+    // Un nodo serializado ocupa al menos ~2 bytes ("0,"): más nodos no caben en maxContractBytes
+    private static final int MIN_BYTES_PER_NODE = 2;
+    private static final int MAX_BUNDLE_FILES = 2_000;
+    private static final Set<String> CONTRACT_EXTENSIONS = Set.of(".yaml", ".yml", ".json");
+    private static final List<String> ROOT_CANDIDATES = List.of("openapi.yaml", "openapi.yml", "openapi.json");
+
+    @Autowired
+    private ReferencedDocumentCache documentCache;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    /**
+     * Resuelve el bundle y extrae sus endpoints
+     *
+     * @throws IllegalArgumentException si falta un archivo o una referencia del bundle
+     * @throws ContractRejectedException si el bundle o el contrato resultante superan los límites
+     */
+    public List<EndpointInfo> parseBundle(ContractBundle bundle) {
+        return openApiParserService.parseContract(resolve(bundle), OpenApiParserService.ParseProgress.NONE);
+    }
+
+    /**
+     * Combina el bundle en un único documento OpenAPI (JSON)
+     */
+    public String resolve(ContractBundle bundle) {
+        long start = System.nanoTime();
+        Resolution resolution = new Resolution(bundle);
+        JsonNode resolved = resolution.run();
+        try {
+            String contract = Json.mapper().writeValueAsString(resolved);
+            log.info("Bundle {} resuelto: {} archivos, {} schemas externos en {} ms", bundle.root(),
+                    resolution.documentsUsed.size(), resolution.externalSchemas.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return contract;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el contrato resuelto", e);
+        }
+    }
+
+    /**
+     * Estadísticas del cache de documentos referenciados
+     */
+    public Map<String, Object> getDocumentCacheStats() {
+        return documentCache.getStats();
+    }
+
+    /**
+     * Lee un bundle zip; sólo se conservan los archivos .yaml/.yml/.json
+     *
+     * @param zip Contenido del zip
+     * @param root Archivo raíz dentro del zip (null para detectarlo)
+     * @param maxBytes Máximo de bytes descomprimidos (protege frente a zip bombs)
+     */
+    public ContractBundle readZip(InputStream zip, String root, long maxBytes) throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        long total = 0;
+        try (ZipInputStream in = new ZipInputStream(zip, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            byte[] buffer = new byte[8192];
+            while ((entry = in.getNextEntry()) != null) {
+                if (entry.isDirectory() || !isContractFile(entry.getName())) {
+                    continue;
+                }
+                if (files.size() >= MAX_BUNDLE_FILES) {
+                    throw new ContractRejectedException(ContractRejectedException.Reason.CONTRACT_TOO_LARGE,
+                            "El bundle tiene más de " + MAX_BUNDLE_FILES + " archivos");
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new ContractRejectedException(ContractRejectedException.Reason.CONTRACT_TOO_LARGE,
+                                "El bundle descomprimido supera " + maxBytes + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+                files.put(normalize(entry.getName()), out.toByteArray());
+            }
+        }
+        return new ContractBundle(files, detectRoot(files, root));
+    }
+
+    /**
+     * Lee un bundle desde un directorio (recursivo)
+     */
+    public ContractBundle readDirectory(Path directory, String root) throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> contractFiles = paths.filter(Files::isRegularFile)
+                    .filter(path -> isContractFile(path.getFileName().toString()))
+                    .sorted()
+                    .toList();
+            if (contractFiles.size() > MAX_BUNDLE_FILES) {
+                throw new ContractRejectedException(ContractRejectedException.Reason.CONTRACT_TOO_LARGE,
+                        "El bundle tiene más de " + MAX_BUNDLE_FILES + " archivos");
+            }
+            for (Path file : contractFiles) {
+                String relative = directory.relativize(file).toString().replace('\\', '/');
+                files.put(normalize(relative), Files.readAllBytes(file));
+            }
+        }
+        return new ContractBundle(files, detectRoot(files, root));
+    }
+
+    private static boolean isContractFile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return CONTRACT_EXTENSIONS.stream().anyMatch(lower::endsWith);
+    }
+
+    /**
+     * Archivo raíz: el indicado, o openapi.yaml/yml/json más cercano a la raíz del bundle
+     */
+    private static String detectRoot(Map<String, byte[]> files, String root) {
+        if (root != null && !root.isBlank()) {
+            String normalized = normalize(root);
+            if (!files.containsKey(normalized)) {
+                throw new IllegalArgumentException("Archivo raíz no encontrado en el bundle: " + root);
+            }
+            return normalized;
+        }
+        return files.keySet().stream()
+                .filter(name -> ROOT_CANDIDATES.contains(fileName(name).toLowerCase(Locale.ROOT)))
+                .min(Comparator.comparingInt((String name) -> name.split("/").length).thenComparing(name -> name))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No se encontró openapi.yaml/openapi.json en el bundle; indique el archivo raíz"));
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Normaliza una ruta del bundle ("a/./b/../c.yaml" → "a/c.yaml"); no puede salir de la raíz
+     */
+    static String normalize(String path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.replace('\\', '/').split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                if (segments.isEmpty()) {
+                    throw new IllegalArgumentException("Ruta fuera del bundle: " + path);
+                }
+                segments.removeLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * Ruta de un $ref relativo al documento que lo contiene
+     */
+    static String resolvePath(String currentDocument, String relative) {
+        if (relative.startsWith("/")) {
+            return normalize(relative);
+        }
+        int slash = currentDocument.lastIndexOf('/');
+        return normalize(slash >= 0 ? currentDocument.substring(0, slash + 1) + relative : relative);
+    }
+
+    /**
+     * Archivos de un contrato multi-archivo (ruta relativa → contenido) y su archivo raíz
+     */
+    public record ContractBundle(Map<String, byte[]> files, String root) {
+    }
+
+    /**
+     * Dónde está un nodo dentro del documento: decide si un $ref externo es un schema
+     */
+    private enum Context {
+        DOCUMENT, SCHEMA, SCHEMA_MAP, LITERAL
+    }
+
+    /**
+     * Estado de la resolución de un bundle
+     */
+    private final class Resolution {
+        private final ContractBundle bundle;
+        // Schemas externos ya incorporados: "archivo#puntero" → nombre en components/schemas
+        private final Map<String, String> schemaNames = new HashMap<>();
+        private final Map<String, JsonNode> externalSchemas = new LinkedHashMap<>();
+        private final Set<String> usedNames = new HashSet<>();
+        private final Set<String> documentsUsed = new HashSet<>();
+        // Árboles ya obtenidos del cache compartido (evita re-hashear el archivo en cada $ref)
+        private final Map<String, JsonNode> documents = new HashMap<>();
+        private final long maxCopiedNodes;
+        private long copiedNodes;
+
+        Resolution(ContractBundle bundle) {
+            this.bundle = bundle;
+            this.maxCopiedNodes = openApiParserService.getLimits().maxContractBytes() / MIN_BYTES_PER_NODE;
+        }
+
+        JsonNode run() {
+            JsonNode root = copy(document(bundle.root()), bundle.root());
+            if (!(root instanceof ObjectNode rootObject)) {
+                throw new IllegalArgumentException("El archivo raíz no es un documento OpenAPI");
+            }
+            JsonNode localSchemas = rootObject.path("components").path("schemas");
+            localSchemas.fieldNames().forEachRemaining(usedNames::add);
+
+            JsonNode resolved = process(rootObject, bundle.root(), Context.DOCUMENT, 0);
+            if (!externalSchemas.isEmpty()) {
+                ObjectNode schemas = ((ObjectNode) resolved).withObject("/components/schemas");
+                externalSchemas.forEach(schemas::set);
+            }
+            return resolved;
+        }
+
+        /**
+         * Recorre el nodo (ya copiado) resolviendo los $ref externos; devuelve el nodo a usar en su lugar
+         */
+        private JsonNode process(JsonNode node, String documentPath, Context context, int depth) {
+            if (context == Context.LITERAL) {
+                return node;
+            }
+            if (node instanceof ArrayNode array) {
+                for (int i = 0; i < array.size(); i++) {
+                    array.set(i, process(array.get(i), documentPath, context, depth));
+                }
+                return array;
+            }
+            if (!(node instanceof ObjectNode object)) {
+                return node;
+            }
+
+            JsonNode ref = object.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                return resolveReference(object, ref.asText(), documentPath, context, depth);
+            }
+
+            List<String> fieldNames = new ArrayList<>(object.size());
+            object.fieldNames().forEachRemaining(fieldNames::add);
+            for (String field : fieldNames) {
+                Context childContext = childContext(context, field);
+                object.set(field, process(object.get(field), documentPath, childContext, depth));
+            }
+            return object;
+        }
+
+        private JsonNode resolveReference(ObjectNode refNode, String ref, String documentPath, Context context, int depth) {
+            boolean local = ref.startsWith("#");
+            if ((local && documentPath.equals(bundle.root())) || ref.contains("://")) {
+                // Referencia local del documento raíz o remota: se deja tal cual
+                return refNode;
+            }
+            int hash = ref.indexOf('#');
+            String file = hash >= 0 ? ref.substring(0, hash) : ref;
+            String pointer = hash >= 0 ? decodePointer(ref.substring(hash + 1)) : "";
+            String targetDocument = file.isEmpty() ? documentPath : resolvePath(documentPath, file);
+
+            if (context == Context.SCHEMA) {
+                refNode.put("$ref", SCHEMAS_PREFIX + schemaName(targetDocument, pointer, depth));
+                return refNode;
+            }
+
+            if (depth >= MAX_INLINE_DEPTH) {
+                throw new IllegalArgumentException("Referencias externas demasiado anidadas o cíclicas: " + ref);
+            }
+            JsonNode inlined = copy(lookup(targetDocument, pointer, ref), ref);
+            return process(inlined, targetDocument, context, depth + 1);
+        }
+
+        /**
+         * Nombre en components/schemas del schema externo, incorporándolo la primera vez
+         */
+        private String schemaName(String document, String pointer, int depth) {
+            // Schema del propio documento raíz referenciado desde otro archivo
+            if (document.equals(bundle.root()) && pointer.startsWith("/components/schemas/")
+                    && pointer.indexOf('/', "/components/schemas/".length()) < 0) {
+                return pointer.substring("/components/schemas/".length());
+            }
+            String key = document + "#" + pointer;
+            String existing = schemaNames.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            String name = uniqueName(pointer.isEmpty()
+                    ? stripExtension(fileName(document))
+                    : pointer.substring(pointer.lastIndexOf('/') + 1));
+            // Se registra antes de procesarlo para que los ciclos terminen en $ref
+            schemaNames.put(key, name);
+            JsonNode schema = copy(lookup(document, pointer, key), key);
+            externalSchemas.put(name, process(schema, document, Context.SCHEMA, depth + 1));
+            return name;
+        }
+
+        private String uniqueName(String base) {
+            String sanitized = base.replaceAll("[^A-Za-z0-9._-]", "_");
+            String name = sanitized.isEmpty() ? "Schema" : sanitized;
+            for (int i = 2; !usedNames.add(name); i++) {
+                name = sanitized + "_" + i;
+            }
+            return name;
+        }
+
+        private JsonNode lookup(String document, String pointer, String ref) {
+            JsonNode target = pointer.isEmpty() ? document(document) : document(document).at(JsonPointer.compile(pointer));
+            if (target.isMissingNode()) {
+                throw new IllegalArgumentException("Referencia no encontrada en el bundle: " + ref);
+            }
+            return target;
+        }
+
+        /**
+         * Copia del nodo para incorporarlo al resultado, descontando sus nodos del presupuesto
+         *
+         * @throws ContractRejectedException si el documento resuelto supera el presupuesto de nodos
+         */
+        private JsonNode copy(JsonNode node, String ref) {
+            Deque<JsonNode> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                JsonNode current = pending.pop();
+                if (++copiedNodes > maxCopiedNodes) {
+                    throw new ContractRejectedException(ContractRejectedException.Reason.CONTRACT_TOO_LARGE,
+                            "El bundle resuelto supera " + maxCopiedNodes + " nodos (al copiar " + ref + ")");
+                }
+                if (current.isContainerNode()) {
+                    current.elements().forEachRemaining(pending::push);
+                }
+            }
+            return node.deepCopy();
+        }
+
+        private JsonNode document(String path) {
+            JsonNode document = documents.get(path);
+            if (document != null) {
+                return document;
+            }
+            byte[] content = bundle.files().get(path);
+            if (content == null) {
+                throw new IllegalArgumentException("Archivo referenciado no encontrado en el bundle: " + path);
+            }
+            documentsUsed.add(path);
+            document = documentCache.get(content, path);
+            documents.put(path, document);
+            return document;
+        }
+    }
+
+    private static Context childContext(Context context, String field) {
+        switch (context) {
+            case SCHEMA_MAP:
+                return Context.SCHEMA;
+            case SCHEMA:
+                switch (field) {
+                    case "properties":
+                    case "patternProperties":
+                        return Context.SCHEMA_MAP;
+                    case "items":
+                    case "additionalProperties":
+                    case "not":
+                    case "allOf":
+                    case "oneOf":
+                    case "anyOf":
+                        return Context.SCHEMA;
+                    default:
+                        // example, enum, default, discriminator... son valores, no schemas
+                        return Context.LITERAL;
+                }
+            default:
+                switch (field) {
+                    case "schema":
+                        return Context.SCHEMA;
+                    case "schemas":
+                        return Context.SCHEMA_MAP;
+                    case "example":
+                    case "value":
+                        return Context.LITERAL;
+                    default:
+                        return Context.DOCUMENT;
+                }
+        }
+    }
+
+    private static String decodePointer(String fragment) {
+        return fragment.indexOf('%') >= 0 ? URLDecoder.decode(fragment, StandardCharsets.UTF_8) : fragment;
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -0,0 +1,510 @@
+package org.project.project.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.ParameterInfo;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+import org.project.project.model.entity.VersionAPI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga dirigido por contrato
+ *
+ * Convierte los endpoints de un contrato en una mezcla ponderada de peticiones (path params,
+ * query params obligatorios y body de ejemplo) y las envía a la URL destino a un ritmo
+ * constante con el cliente HTTP asíncrono de Java. La latencia se mide desde el instante en
+ * que la petición debía salir (no desde que salió), para no ocultar colas cuando el destino
+ * se satura (coordinated omission). Los resultados por endpoint son histogramas HDR.
+ *
+ * El destino sólo puede ser la URL desplegada de la versión (cloudRunUrl, mismo origen) o un
+ * host de openapi.loadtest.allowed-hosts: el portal no genera carga contra hosts arbitrarios.
+ * Los endpoints salen del contrato guardado de la versión, no de uno enviado por el cliente, y
+ * cada ejecución sólo la consulta o detiene el usuario que la inició.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class ContractLoadTestService {
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, STOPPED, FAILED
+    }
+
+    @Autowired
+    private VersionContractService versionContractService;
+
+    @Autowired
+    private EndpointCatalogStore endpointCatalogStore;
+
+    @Value("${openapi.loadtest.max-rps:1000}")
+    private int maxRps;
+
+    @Value("${openapi.loadtest.max-duration-seconds:600}")
+    private int maxDurationSeconds;
+
+    @Value("${openapi.loadtest.max-concurrent-runs:2}")
+    private int maxConcurrentRuns;
+
+    @Value("${openapi.loadtest.retention-minutes:60}")
+    private long retentionMinutes;
+
+    /**
+     * Hosts adicionales a la URL de la versión (staging, entornos de prueba), separados por comas
+     */
+    @Value("${openapi.loadtest.allowed-hosts:}")
+    private String[] allowedHosts;
+
+    private final Map<String, LoadRun> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRuns = new AtomicInteger();
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * Inicia una prueba de carga en segundo plano
+     *
+     * @param config Configuración de la prueba (sin targetUrl se usa la URL desplegada de la versión)
+     * @param version Versión probada, ya verificada como gestionable por el usuario
+     * @param ownerId Usuario que inicia la prueba (el único que puede consultarla o detenerla)
+     * @return ID de la ejecución
+     * @throws IllegalArgumentException si la configuración es inválida, el destino no está permitido
+     *                                  o la versión no tiene contrato o su contrato no tiene endpoints
+     * @throws IllegalStateException si ya hay demasiadas pruebas en curso
+     */
+    public String start(LoadTestConfig config, VersionAPI version, Long ownerId) {
+        URI target = validate(config, version);
+        String contract = versionContractService.contratoDeVersion(version.getVersionId())
+                .orElseThrow(() -> new IllegalArgumentException("La versión " + version.getVersionId()
+                        + " no tiene contrato"));
+        List<EndpointInfo> endpoints = endpointCatalogStore.getOrParse(version.getVersionId(), contract);
+        List<RequestTemplate> templates = buildTemplates(target, endpoints, config);
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("El contrato no tiene endpoints con peso mayor a 0");
+        }
+
+        purgeExpired();
+        if (activeRuns.incrementAndGet() > maxConcurrentRuns) {
+            activeRuns.decrementAndGet();
+            throw new IllegalStateException("Ya hay " + maxConcurrentRuns + " pruebas de carga en curso");
+        }
+
+        LoadRun run = new LoadRun(UUID.randomUUID().toString(), ownerId, config, templates);
+        runs.put(run.id, run);
+        Thread driver = new Thread(() -> drive(run), "load-test-" + threadIndex.incrementAndGet());
+        driver.setDaemon(true);
+        driver.start();
+        log.info("Prueba de carga {} iniciada: {} endpoints, {} rps durante {} s contra {}",
+                run.id, templates.size(), config.getRps(), config.getDurationSeconds(), target);
+        return run.id;
+    }
+
+    /**
+     * Solicita detener una prueba en curso (las peticiones en vuelo terminan normalmente)
+     *
+     * @return false si la prueba no existe o no la inició el usuario
+     */
+    public boolean stop(String runId, Long ownerId) {
+        LoadRun run = ownedRun(runId, ownerId);
+        if (run == null) {
+            return false;
+        }
+        run.stopRequested = true;
+        return true;
+    }
+
+    /**
+     * Resumen de una prueba: totales y p50/p90/p99/p999 por endpoint (ms); sólo para quien la inició
+     */
+    public Optional<Map<String, Object>> getReport(String runId, Long ownerId) {
+        LoadRun run = ownedRun(runId, ownerId);
+        return run != null ? Optional.of(run.report()) : Optional.empty();
+    }
+
+    /**
+     * Distribución de percentiles en formato HdrHistogram; sólo para quien inició la prueba
+     *
+     * @param endpointKey "METHOD path", o null para el total de la prueba
+     */
+    public Optional<String> getPercentileDistribution(String runId, Long ownerId, String endpointKey) {
+        LoadRun run = ownedRun(runId, ownerId);
+        if (run == null) {
+            return Optional.empty();
+        }
+        if (endpointKey == null) {
+            return Optional.of(run.totalHistogram().percentileDistribution(5));
+        }
+        EndpointStats stats = run.stats.get(endpointKey);
+        return stats != null ? Optional.of(stats.histogram.percentileDistribution(5)) : Optional.empty();
+    }
+
+    /**
+     * Ejecución si existe y la inició el usuario (a los demás no se les revela que existe)
+     */
+    private LoadRun ownedRun(String runId, Long ownerId) {
+        LoadRun run = runs.get(runId);
+        return run != null && run.ownerId.equals(ownerId) ? run : null;
+    }
+
+    private URI validate(LoadTestConfig config, VersionAPI version) {
+        if (config.getRps() < 1 || config.getRps() > maxRps) {
+            throw new IllegalArgumentException("rps debe estar entre 1 y " + maxRps);
+        }
+        if (config.getDurationSeconds() < 1 || config.getDurationSeconds() > maxDurationSeconds) {
+            throw new IllegalArgumentException("durationSeconds debe estar entre 1 y " + maxDurationSeconds);
+        }
+        if (config.getMaxInFlight() < 1 || config.getTimeoutMs() < 1) {
+            throw new IllegalArgumentException("maxInFlight y timeoutMs deben ser mayores a 0");
+        }
+        String targetUrl = config.getTargetUrl() != null && !config.getTargetUrl().isBlank()
+                ? config.getTargetUrl()
+                : version.getCloudRunUrl();
+        if (targetUrl == null || targetUrl.isBlank()) {
+            throw new IllegalArgumentException("La versión no tiene URL desplegada; indique targetUrl");
+        }
+        URI target = toHttpUri(targetUrl, "targetUrl");
+        if (!isAllowedTarget(target, version)) {
+            throw new IllegalArgumentException("targetUrl debe apuntar a la URL desplegada de la versión"
+                    + " o a un host permitido: " + targetUrl);
+        }
+        return target;
+    }
+
+    /**
+     * Mismo origen (esquema, host y puerto) que la URL de la versión, o host de la lista permitida
+     */
+    private boolean isAllowedTarget(URI target, VersionAPI version) {
+        String host = target.getHost().toLowerCase(Locale.ROOT);
+        if (allowedHosts != null && Arrays.stream(allowedHosts)
+                .map(allowed -> allowed.trim().toLowerCase(Locale.ROOT))
+                .anyMatch(host::equals)) {
+            return true;
+        }
+        if (version.getCloudRunUrl() == null || version.getCloudRunUrl().isBlank()) {
+            return false;
+        }
+        URI deployed = toHttpUri(version.getCloudRunUrl(), "cloudRunUrl");
+        return target.getScheme().equals(deployed.getScheme())
+                && host.equals(deployed.getHost().toLowerCase(Locale.ROOT))
+                && port(target) == port(deployed);
+    }
+
+    private static URI toHttpUri(String url, String field) {
+        URI uri;
+        try {
+            uri = URI.create(url.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(field + " inválida: " + url);
+        }
+        if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+            throw new IllegalArgumentException(field + " debe ser http o https");
+        }
+        if (uri.getHost() == null || uri.getRawUserInfo() != null) {
+            throw new IllegalArgumentException(field + " debe indicar un host (sin credenciales): " + url);
+        }
+        return uri;
+    }
+
+    private static int port(URI uri) {
+        return uri.getPort() >= 0 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+    }
+
+    /**
+     * Peticiones listas para enviar (HttpRequest es inmutable y se reutiliza en cada envío)
+     */
+    private List<RequestTemplate> buildTemplates(URI target, List<EndpointInfo> endpoints, LoadTestConfig config) {
+        String base = target.toString().endsWith("/")
+                ? target.toString().substring(0, target.toString().length() - 1)
+                : target.toString();
+        Duration timeout = Duration.ofMillis(config.getTimeoutMs());
+
+        List<RequestTemplate> templates = new ArrayList<>(endpoints.size());
+        for (EndpointInfo endpoint : endpoints) {
+            String key = OpenApiParserService.operationKey(endpoint.getMethod(), endpoint.getPath());
+            double weight = config.getWeights() != null ? config.getWeights().getOrDefault(key, 1.0) : 1.0;
+            if (weight <= 0) {
+                continue;
+            }
+
+            EncodedJson body = endpoint.getRequestBodyJson();
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + resolvePath(endpoint)))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .method(endpoint.getMethod().name(), body != null
+                            ? HttpRequest.BodyPublishers.ofByteArray(body.bytes())
+                            : HttpRequest.BodyPublishers.noBody());
+            if (body != null) {
+                request.header("Content-Type", "application/json");
+            }
+            if (endpoint.getParameters() != null) {
+                for (ParameterInfo param : endpoint.getParameters()) {
+                    if (param.getIn() == ParameterLocation.HEADER && param.isRequired()) {
+                        try {
+                            request.header(param.getName(), sampleValue(param));
+                        } catch (IllegalArgumentException e) {
+                            // Cabeceras que gestiona el cliente HTTP (Host, Connection...)
+                            log.debug("Cabecera {} omitida en la prueba de carga", param.getName());
+                        }
+                    }
+                }
+            }
+            templates.add(new RequestTemplate(key, request.build(), weight));
+        }
+        return templates;
+    }
+
+    /**
+     * Path con las variables sustituidas por sus ejemplos y los query params obligatorios
+     */
+    private static String resolvePath(EndpointInfo endpoint) {
+        String path = endpoint.getPath();
+        StringBuilder query = new StringBuilder();
+        if (endpoint.getParameters() != null) {
+            for (ParameterInfo param : endpoint.getParameters()) {
+                String value = URLEncoder.encode(sampleValue(param), StandardCharsets.UTF_8);
+                if (param.getIn() == ParameterLocation.PATH) {
+                    path = path.replace("{" + param.getName() + "}", value);
+                } else if (param.getIn() == ParameterLocation.QUERY && param.isRequired()) {
+                    query.append(query.length() == 0 ? '?' : '&')
+                            .append(URLEncoder.encode(param.getName(), StandardCharsets.UTF_8))
+                            .append('=').append(value);
+                }
+            }
+        }
+        // Variables sin parámetro declarado
+        path = path.replaceAll("\\{[^/}]+}", "1");
+        return path + query;
+    }
+
+    private static String sampleValue(ParameterInfo param) {
+        if (param.getExample() != null) {
+            return param.getExample();
+        }
+        String type = param.getType();
+        if ("integer".equals(type) || "number".equals(type)) {
+            return "1";
+        }
+        return "boolean".equals(type) ? "true" : "example";
+    }
+
+    /**
+     * Bucle del generador: una petición cada 1/rps segundos según un calendario fijo
+     */
+    private void drive(LoadRun run) {
+        LoadTestConfig config = run.config;
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(config.getTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / config.getRps();
+        long totalRequests = (long) config.getRps() * config.getDurationSeconds();
+        long start = System.nanoTime();
+
+        try {
+            for (long i = 0; i < totalRequests && !run.stopRequested; i++) {
+                long intendedStart = start + i * periodNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                RequestTemplate template = run.pick();
+                EndpointStats stats = run.statsFor(template.key);
+                if (!inFlight.tryAcquire()) {
+                    // Destino saturado: la petición no se envía pero cuenta en el reporte
+                    stats.dropped.incrementAndGet();
+                    continue;
+                }
+                stats.sent.incrementAndGet();
+                client.sendAsync(template.request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            stats.histogram.recordMicros((System.nanoTime() - intendedStart) / 1_000);
+                            if (error != null) {
+                                stats.errors.incrementAndGet();
+                            } else {
+                                stats.recordStatus(response.statusCode());
+                            }
+                        });
+            }
+            // Espera a las peticiones en vuelo (como mucho un timeout)
+            if (inFlight.tryAcquire(config.getMaxInFlight(), config.getTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                inFlight.release(config.getMaxInFlight());
+            }
+            run.status = run.stopRequested ? RunStatus.STOPPED : RunStatus.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.status = RunStatus.STOPPED;
+        } catch (RuntimeException e) {
+            log.error("Error en la prueba de carga {}: {}", run.id, e.getMessage(), e);
+            run.error = e.getMessage();
+            run.status = RunStatus.FAILED;
+        } finally {
+            run.finishedAt = Instant.now();
+            activeRuns.decrementAndGet();
+            log.info("Prueba de carga {} terminada ({})", run.id, run.status);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant limit = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        runs.values().removeIf(run -> run.finishedAt != null && run.finishedAt.isBefore(limit));
+    }
+
+    /**
+     * Configuración de una prueba de carga
+     */
+    @Data
+    public static class LoadTestConfig {
+        private Long versionId;            // Versión cuyo contrato guardado y URL se prueban
+        private String targetUrl;          // Por defecto la URL desplegada de la versión
+        private int rps = 50;
+        private int durationSeconds = 30;
+        private int maxInFlight = 256;     // Peticiones simultáneas antes de descartar
+        private long timeoutMs = 10_000;
+        private Map<String, Double> weights; // "GET /users" -> peso (por defecto 1; 0 lo excluye)
+    }
+
+    private record RequestTemplate(String key, HttpRequest request, double weight) {
+    }
+
+    /**
+     * Contadores e histograma de un endpoint
+     */
+    private static final class EndpointStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLongArray statusClasses = new AtomicLongArray(6); // 1xx..5xx
+
+        void recordStatus(int status) {
+            int statusClass = status / 100;
+            if (statusClass >= 1 && statusClass <= 5) {
+                statusClasses.incrementAndGet(statusClass);
+            }
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("sent", sent.get());
+            report.put("completed", histogram.getTotalCount());
+            report.put("dropped", dropped.get());
+            report.put("errors", errors.get());
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                statuses.put(statusClass + "xx", statusClasses.get(statusClass));
+            }
+            report.put("statuses", statuses);
+            report.put("latencyMs", latencyReport(histogram));
+            return report;
+        }
+    }
+
+    private static Map<String, Object> latencyReport(LatencyHistogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        latency.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        latency.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        latency.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        latency.put("max", histogram.getMaxMicros() / 1000.0);
+        latency.put("mean", histogram.getMeanMicros() / 1000.0);
+        return latency;
+    }
+
+    /**
+     * Ejecución de una prueba de carga
+     */
+    private static final class LoadRun {
+        private final String id;
+        private final Long ownerId;
+        private final LoadTestConfig config;
+        private final List<RequestTemplate> templates;
+        private final double[] cumulativeWeights;
+        private final Instant startedAt = Instant.now();
+        // Los histogramas se crean al primer uso: los endpoints que no salen en la mezcla no ocupan memoria
+        private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        private volatile RunStatus status = RunStatus.RUNNING;
+        private volatile boolean stopRequested;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        LoadRun(String id, Long ownerId, LoadTestConfig config, List<RequestTemplate> templates) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.config = config;
+            this.templates = templates;
+            this.cumulativeWeights = new double[templates.size()];
+            double total = 0;
+            for (int i = 0; i < templates.size(); i++) {
+                total += templates.get(i).weight;
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        RequestTemplate pick() {
+            double point = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, point);
+            index = index >= 0 ? index + 1 : -index - 1;
+            return templates.get(Math.min(index, templates.size() - 1));
+        }
+
+        EndpointStats statsFor(String key) {
+            return stats.computeIfAbsent(key, k -> new EndpointStats());
+        }
+
+        LatencyHistogram totalHistogram() {
+            LatencyHistogram total = new LatencyHistogram();
+            stats.values().forEach(endpoint -> total.add(endpoint.histogram));
+            return total;
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new HashMap<>();
+            report.put("runId", id);
+            report.put("status", status);
+            report.put("targetUrl", config.getTargetUrl());
+            report.put("rps", config.getRps());
+            report.put("durationSeconds", config.getDurationSeconds());
+            report.put("startedAt", startedAt);
+            report.put("finishedAt", finishedAt);
+            report.put("latencyMs", latencyReport(totalHistogram()));
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            stats.forEach((key, endpoint) -> endpoints.put(key, endpoint.report()));
+            report.put("endpoints", endpoints);
+            if (error != null) {
+                report.put("error", error);
+            }
+            return report;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.ContentExampleInfo;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mock server embebido: responde con los ejemplos del contrato de una versión
+ *
+ * Al publicar una versión se compila su router y se pre-codifican las respuestas
+ * (UTF-8 y gzip) de cada código de respuesta declarado, de modo que cada petición sólo hace
+ * el matching de la ruta y copia bytes ya preparados. Por defecto se responde la respuesta
+ * exitosa preferida (200, 201, 202, 204, otro 2xx); el cliente puede pedir otro código declarado
+ * (p. ej. 404) para probar sus caminos de error.
+ *
+ * Al publicar desde el contrato también se compilan sus validadores de peticiones
+ * ({@link CompiledRequestValidator}): una petición que no cumple los parámetros o el body de su
+ * operación recibe un 400 con los errores en lugar del ejemplo.
+ *
+ * Todo vive en memoria del nodo, sin Cloud Run; se conservan como mucho openapi.mock.max-published
+ * versiones publicadas (las menos usadas se retiran). Las peticiones no toman ningún lock: cada
+ * versión guarda su último acceso con resolución de un segundo y la expulsión, que sólo ocurre al
+ * publicar, retira la de acceso más antiguo.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class ContractMockService {
+
+    // Por debajo de este tamaño gzip no compensa
+    private static final int GZIP_MIN_BYTES = 512;
+
+    // Resolución del último acceso: como mucho una escritura por versión y segundo en el camino caliente
+    private static final long ACCESS_RESOLUTION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String APPLICATION_JSON = "application/json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private EndpointCatalogStore endpointCatalogStore;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    @Value("${openapi.mock.max-published:200}")
+    private int maxPublished;
+
+    private final Map<Long, MockContract> contracts = new ConcurrentHashMap<>();
+    private final AtomicLong servedRequests = new AtomicLong();
+    private final AtomicLong unmatchedRequests = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Publica (o reemplaza) el mock de una versión a partir de su contrato
+     *
+     * Los endpoints salen del catálogo persistente: si el contrato de la versión no cambió no
+     * se vuelve a parsear. Las peticiones se validan contra el contrato antes de responder.
+     *
+     * @param versionId ID de la versión
+     * @param contractYaml Contrato OpenAPI en YAML o JSON
+     * @return Número de rutas servidas por el mock
+     * @throws ContractRejectedException si el contrato supera alguno de los límites de recursos
+     * @throws IllegalArgumentException si el documento no es un contrato OpenAPI válido
+     */
+    public int publish(Long versionId, String contractYaml) {
+        List<EndpointInfo> endpoints = endpointCatalogStore.getOrParse(versionId, contractYaml);
+        return publish(versionId, endpoints, openApiParserService.compileValidators(contractYaml));
+    }
+
+    /**
+     * Publica (o reemplaza) el mock de una versión a partir de endpoints ya extraídos, sin
+     * validar las peticiones
+     */
+    public int publish(Long versionId, List<EndpointInfo> endpoints) {
+        return publish(versionId, endpoints, Map.of());
+    }
+
+    /**
+     * Publica (o reemplaza) el mock de una versión
+     *
+     * @param validators Validador por operación, con clave "METHOD path" (ver
+     *                   {@link OpenApiParserService#compileValidators}); las operaciones sin
+     *                   validador no se validan
+     */
+    public int publish(Long versionId, List<EndpointInfo> endpoints,
+                       Map<String, CompiledRequestValidator> validators) {
+        EndpointRouter router = EndpointRouter.compile(endpoints);
+        Map<EndpointInfo, EndpointResponses> responses = new IdentityHashMap<>();
+        for (EndpointInfo endpoint : endpoints) {
+            CompiledRequestValidator validator = endpoint.getMethod() != null
+                    ? validators.get(OpenApiParserService.operationKey(endpoint.getMethod(), endpoint.getPath()))
+                    : null;
+            responses.put(endpoint, prepareResponses(endpoint, validator));
+        }
+        put(versionId, new MockContract(router, responses));
+        log.info("Mock publicado para la versión {} ({} rutas)", versionId, router.size());
+        return router.size();
+    }
+
+    /**
+     * Retira el mock de una versión
+     */
+    public boolean unpublish(Long versionId) {
+        return contracts.remove(versionId) != null;
+    }
+
+    public boolean isPublished(Long versionId) {
+        return contracts.containsKey(versionId);
+    }
+
+    /**
+     * Resuelve la respuesta pre-codificada por defecto para una petición
+     *
+     * @param versionId ID de la versión publicada
+     * @param method Método HTTP
+     * @param path Ruta relativa al contrato (/users/42)
+     * @return Respuesta lista para escribir, o null si la versión o la ruta no existen
+     */
+    public MockResponse resolve(Long versionId, String method, String path) {
+        return resolve(versionId, method, path, null);
+    }
+
+    /**
+     * Resuelve la respuesta pre-codificada para una petición y un código de respuesta
+     *
+     * @param status Código pedido por el cliente ("404"); null para la respuesta exitosa por defecto
+     * @return Respuesta lista para escribir, o null si la versión o la ruta no existen
+     * @throws IllegalArgumentException si el endpoint no declara el código pedido
+     */
+    public MockResponse resolve(Long versionId, String method, String path, String status) {
+        return resolve(versionId, method, path, status, null);
+    }
+
+    /**
+     * Resuelve la respuesta para una petición, validándola antes contra su operación
+     *
+     * @param request Parámetros y body de la petición; null para no validar
+     * @return Respuesta lista para escribir (400 con los errores si la petición no cumple el
+     *         contrato), o null si la versión o la ruta no existen
+     * @throws IllegalArgumentException si el endpoint no declara el código pedido o el body no
+     *                                  se puede leer
+     */
+    public MockResponse resolve(Long versionId, String method, String path, String status, MockRequest request) {
+        MockContract contract = get(versionId);
+        if (contract == null) {
+            return null;
+        }
+        EndpointRouter.RouteMatch match = contract.router.match(method, path);
+        if (match == null) {
+            unmatchedRequests.incrementAndGet();
+            return null;
+        }
+        EndpointResponses responses = contract.responses.get(match.endpoint());
+        if (request != null && responses.validator() != null) {
+            List<String> errors = responses.validator().validate((location, name) -> location == ParameterLocation.PATH
+                    ? match.pathVariables().get(name)
+                    : request.parameter(location, name), request.body());
+            if (!errors.isEmpty()) {
+                rejectedRequests.incrementAndGet();
+                return invalidRequest(errors);
+            }
+        }
+        MockResponse response = status == null ? responses.preferred() : responses.byStatus().get(status.trim());
+        if (response == null) {
+            throw new IllegalArgumentException("El contrato no declara la respuesta " + status + " para "
+                    + OpenApiParserService.operationKey(match.endpoint().getMethod(), match.endpoint().getPath())
+                    + " (declaradas: " + responses.byStatus().keySet() + ")");
+        }
+        servedRequests.incrementAndGet();
+        return response;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("publishedVersions", contracts.size());
+        stats.put("maxPublished", maxPublished);
+        stats.put("evictions", evictions.get());
+        stats.put("servedRequests", servedRequests.get());
+        stats.put("unmatchedRequests", unmatchedRequests.get());
+        stats.put("rejectedRequests", rejectedRequests.get());
+        return stats;
+    }
+
+    private MockContract get(Long versionId) {
+        MockContract contract = contracts.get(versionId);
+        if (contract != null) {
+            contract.touch(System.nanoTime());
+        }
+        return contract;
+    }
+
+    /**
+     * Publica bajo el lock de escritura (las lecturas no lo toman) y, si se supera el máximo,
+     * retira las versiones con el último acceso más antiguo
+     */
+    private synchronized void put(Long versionId, MockContract contract) {
+        contract.lastAccessNanos = System.nanoTime();
+        contracts.put(versionId, contract);
+        while (contracts.size() > maxPublished) {
+            Long eldest = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<Long, MockContract> entry : contracts.entrySet()) {
+                long access = entry.getValue().lastAccessNanos - contract.lastAccessNanos;
+                if (!entry.getKey().equals(versionId) && (eldest == null || access < eldestAccess)) {
+                    eldest = entry.getKey();
+                    eldestAccess = access;
+                }
+            }
+            if (eldest == null || contracts.remove(eldest) == null) {
+                break;
+            }
+            evictions.incrementAndGet();
+            log.info("Mock de la versión {} retirado (máximo de {} versiones publicadas)", eldest, maxPublished);
+        }
+    }
+
+    /**
+     * Respuestas de un endpoint por código declarado ("200", "404"...) y la exitosa por defecto
+     */
+    private static EndpointResponses prepareResponses(EndpointInfo endpoint, CompiledRequestValidator validator) {
+        Map<String, MockResponse> byStatus = new TreeMap<>();
+        if (endpoint.getResponseExamples() != null) {
+            for (ContentExampleInfo example : endpoint.getResponseExamples()) {
+                String status = example.getStatusCode();
+                if (status == null || !status.matches("[1-5]\\d\\d")) {
+                    continue; // "default" y rangos (2XX) no tienen un código concreto
+                }
+                MockResponse current = byStatus.get(status);
+                MockResponse candidate = prepareResponse(Integer.parseInt(status), example);
+                if (current == null || isBetter(candidate, current)) {
+                    byStatus.put(status, candidate);
+                }
+            }
+        }
+
+        MockResponse preferred = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (Map.Entry<String, MockResponse> entry : byStatus.entrySet()) {
+            int rank = successRank(entry.getKey());
+            if (rank < bestRank) {
+                bestRank = rank;
+                preferred = entry.getValue();
+            }
+        }
+        if (preferred == null) {
+            // Sin respuestas 2xx declaradas: el ejemplo de la respuesta exitosa, como antes
+            EncodedJson example = endpoint.getResponseJson();
+            preferred = example != null ? jsonResponse(200, example.bytes()) : new MockResponse(204, null, null, null);
+        }
+        return new EndpointResponses(preferred, Collections.unmodifiableMap(byStatus), validator);
+    }
+
+    /**
+     * 400 con los errores de validación de la petición
+     */
+    private static MockResponse invalidRequest(List<String> errors) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("message", "La petición no cumple el contrato");
+        body.put("errors", errors);
+        try {
+            return jsonResponse(400, MAPPER.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MockResponse prepareResponse(int status, ContentExampleInfo example) {
+        EncodedJson encoded = example.getExample();
+        if (encoded == null) {
+            return new MockResponse(status, null, null, null);
+        }
+        if (isJson(example.getMediaType())) {
+            return jsonResponse(status, encoded.bytes());
+        }
+        // Para el resto de media types el ejemplo es un string JSON con el cuerpo en texto
+        byte[] body;
+        try {
+            body = MAPPER.readTree(encoded.bytes()).asText().getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            body = encoded.bytes();
+        }
+        return new MockResponse(status, body, body.length >= GZIP_MIN_BYTES ? gzip(body) : null,
+                example.getMediaType());
+    }
+
+    private static MockResponse jsonResponse(int status, byte[] body) {
+        return new MockResponse(status, body, body.length >= GZIP_MIN_BYTES ? gzip(body) : null,
+                APPLICATION_JSON);
+    }
+
+    /**
+     * Entre varios media types de un mismo código se prefiere uno con ejemplo, y JSON antes que el resto
+     */
+    private static boolean isBetter(MockResponse candidate, MockResponse current) {
+        if (candidate.body() == null) {
+            return false;
+        }
+        return current.body() == null || (isJson(candidate.contentType()) && !isJson(current.contentType()));
+    }
+
+    private static boolean isJson(String mediaType) {
+        String normalized = MediaTypeExampleRegistry.normalize(mediaType);
+        return normalized.equals(APPLICATION_JSON) || normalized.endsWith("+json");
+    }
+
+    /**
+     * Prioridad como respuesta por defecto (menor es mejor): 200, 201, 202, 204 y luego otro 2xx
+     */
+    private static int successRank(String status) {
+        return switch (status) {
+            case "200" -> 0;
+            case "201" -> 1;
+            case "202" -> 2;
+            case "204" -> 3;
+            default -> status.startsWith("2") ? 4 : Integer.MAX_VALUE;
+        };
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Respuesta pre-codificada de un endpoint mockeado
+     *
+     * @param status Código HTTP
+     * @param body Cuerpo en UTF-8 (null si no hay cuerpo)
+     * @param gzipBody Cuerpo comprimido con gzip (null si no compensa comprimir)
+     * @param contentType Media type del cuerpo (null si no hay cuerpo)
+     */
+    public record MockResponse(int status, byte[] body, byte[] gzipBody, String contentType) {
+    }
+
+    /**
+     * Parámetros y body de una petición al mock, para validarla contra el contrato
+     *
+     * Los parámetros de path los resuelve el router; {@link #parameter} sólo se consulta para
+     * query, cabeceras y cookies.
+     */
+    public interface MockRequest extends CompiledRequestValidator.RequestView {
+        /**
+         * Body ya parseado: el JSON si es un media type JSON, un TextNode con el texto para el
+         * resto, null si no hay body
+         *
+         * @throws IllegalArgumentException si el body JSON no se puede parsear
+         */
+        JsonNode body();
+    }
+
+    /**
+     * Respuestas de un endpoint y el validador de sus peticiones (null si no se valida)
+     */
+    private record EndpointResponses(MockResponse preferred, Map<String, MockResponse> byStatus,
+                                     CompiledRequestValidator validator) {
+    }
+
+    private static final class MockContract {
+        private final EndpointRouter router;
+        private final Map<EndpointInfo, EndpointResponses> responses;
+        private volatile long lastAccessNanos;
+
+        MockContract(EndpointRouter router, Map<EndpointInfo, EndpointResponses> responses) {
+            this.router = router;
+            this.responses = responses;
+        }
+
+        void touch(long now) {
+            if (now - lastAccessNanos > ACCESS_RESOLUTION_NANOS) {
+                lastAccessNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.project.project.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Trabajos asíncronos de parseo de contratos OpenAPI
+ *
+ * El upload encola el contrato y recibe un jobId de inmediato; un pool acotado de workers
+ * hace el parseo fuera de los hilos de Tomcat. El avance (paths procesados / total) se puede
+ * consultar o recibir por suscripción, y el resultado queda guardado hasta que expira.
+ * Los ejemplos diferidos se generan dentro del trabajo (con su mismo tiempo máximo), de modo que
+ * el resultado guardado no retiene el modelo del contrato y /result no los genera en Tomcat.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class ContractParseJobService {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    @Value("${openapi.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    private final ThreadPoolExecutor workers;
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+
+    public ContractParseJobService(@Value("${openapi.jobs.workers:2}") int workerCount,
+                                   @Value("${openapi.jobs.queue-capacity:50}") int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "contract-parse-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Encola el parseo de un contrato
+     *
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @return ID del trabajo
+     * @throws RejectedExecutionException si la cola de trabajos está llena
+     */
+    public String submit(String contractYaml) {
+        purgeExpired();
+
+        ParseJob job = new ParseJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, contractYaml));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("Cola de parseo de contratos llena ({} en espera)", workers.getQueue().size());
+            throw e;
+        }
+        return job.id;
+    }
+
+    /**
+     * Estado actual de un trabajo
+     */
+    public Optional<Map<String, Object>> getStatus(String jobId) {
+        ParseJob job = jobs.get(jobId);
+        return job != null ? Optional.of(job.snapshot()) : Optional.empty();
+    }
+
+    /**
+     * Endpoints extraídos por un trabajo terminado
+     *
+     * @return Endpoints, o vacío si el trabajo no existe o aún no terminó correctamente
+     */
+    public Optional<List<EndpointInfo>> getResult(String jobId) {
+        ParseJob job = jobs.get(jobId);
+        return job != null && job.status == JobStatus.COMPLETED ? Optional.of(job.result) : Optional.empty();
+    }
+
+    /**
+     * Se suscribe a los cambios de un trabajo (estado y avance por cada 1%)
+     *
+     * El listener recibe el estado actual de inmediato y se elimina solo al terminar el trabajo o
+     * si falla al recibir un estado. Nunca recibe un estado anterior después de uno más reciente.
+     *
+     * @return false si el trabajo no existe
+     */
+    public boolean subscribe(String jobId, Consumer<Map<String, Object>> listener) {
+        ParseJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.subscribe(listener);
+        return true;
+    }
+
+    public void unsubscribe(String jobId, Consumer<Map<String, Object>> listener) {
+        ParseJob job = jobs.get(jobId);
+        if (job != null) {
+            job.listeners.remove(listener);
+        }
+    }
+
+    private void run(ParseJob job, String contractYaml) {
+        job.status = JobStatus.RUNNING;
+        job.startedAt = Instant.now();
+        job.notifyListeners();
+        try {
+            ParseGuard guard = openApiParserService.newGuard();
+            List<EndpointInfo> endpoints = openApiParserService.parseContract(contractYaml, job::onProgress, guard);
+            for (EndpointInfo endpoint : endpoints) {
+                guard.checkpoint();
+                endpoint.materializeExamples();
+            }
+            job.result = endpoints;
+            job.status = JobStatus.COMPLETED;
+        } catch (ContractRejectedException e) {
+            job.error = e.getMessage();
+            job.rejectionReason = e.getReason();
+            job.status = JobStatus.FAILED;
+        } catch (Exception e) {
+            log.error("Error en el trabajo de parseo {}: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            job.notifyListeners();
+            job.listeners.clear();
+        }
+    }
+
+    private void purgeExpired() {
+        Instant limit = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Trabajo de parseo y su avance
+     */
+    private static final class ParseJob {
+        private final String id;
+        private final Instant createdAt = Instant.now();
+        private final List<Consumer<Map<String, Object>>> listeners = new CopyOnWriteArrayList<>();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile int processedPaths;
+        private volatile int totalPaths;
+        private volatile int lastNotifiedPercent = -1;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile List<EndpointInfo> result;
+        private volatile String error;
+        private volatile ContractRejectedException.Reason rejectionReason;
+
+        ParseJob(String id) {
+            this.id = id;
+        }
+
+        void onProgress(int processed, int total) {
+            // En modo paralelo llegan desde varios hilos: sólo se guarda el máximo
+            if (processed > processedPaths) {
+                processedPaths = processed;
+            }
+            totalPaths = total;
+            int percent = percent();
+            if (percent != lastNotifiedPercent) {
+                lastNotifiedPercent = percent;
+                notifyListeners();
+            }
+        }
+
+        boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        int percent() {
+            return totalPaths > 0 ? (int) (100L * processedPaths / totalPaths) : (isFinished() ? 100 : 0);
+        }
+
+        /**
+         * Entrega el estado actual y, si el trabajo no había terminado en ese estado, registra el
+         * listener. Va bajo el mismo lock que las notificaciones: una notificación posterior al
+         * estado inicial llega después de él, incluida la del final del trabajo.
+         */
+        synchronized void subscribe(Consumer<Map<String, Object>> listener) {
+            Map<String, Object> snapshot = snapshot();
+            if (deliver(listener, snapshot) && !isFinished(snapshot)) {
+                listeners.add(listener);
+            }
+        }
+
+        synchronized void notifyListeners() {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            Map<String, Object> snapshot = snapshot();
+            for (Consumer<Map<String, Object>> listener : listeners) {
+                if (!deliver(listener, snapshot)) {
+                    listeners.remove(listener);
+                }
+            }
+            if (isFinished(snapshot)) {
+                listeners.clear();
+            }
+        }
+
+        /**
+         * @return false si el listener falló (cliente desconectado o stream ya cerrado)
+         */
+        private static boolean deliver(Consumer<Map<String, Object>> listener, Map<String, Object> snapshot) {
+            try {
+                listener.accept(snapshot);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        private static boolean isFinished(Map<String, Object> snapshot) {
+            Object status = snapshot.get("status");
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("jobId", id);
+            snapshot.put("status", status);
+            snapshot.put("processedPaths", processedPaths);
+            snapshot.put("totalPaths", totalPaths);
+            snapshot.put("progress", percent());
+            snapshot.put("createdAt", createdAt);
+            snapshot.put("startedAt", startedAt);
+            snapshot.put("finishedAt", finishedAt);
+            if (status == JobStatus.COMPLETED && result != null) {
+                snapshot.put("endpointCount", result.size());
+            }
+            if (error != null) {
+                snapshot.put("error", error);
+            }
+            if (rejectionReason != null) {
+                snapshot.put("rejectionReason", rejectionReason);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.project.project.service;
+
+import lombok.Getter;
+
+/**
+ * Contrato OpenAPI rechazado por superar alguno de los límites de recursos del parser
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Getter
+public class ContractRejectedException extends RuntimeException {
+
+    /**
+     * Motivo del rechazo (también es la etiqueta de la métrica)
+     */
+    public enum Reason {
+        CONTRACT_TOO_LARGE, TOO_MANY_PATHS, SCHEMA_TOO_DEEP, EXAMPLE_TOO_LARGE, PARSE_TIMEOUT, CANCELLED
+    }
+
+    private final Reason reason;
+
+    public ContractRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,646 @@
+package org.project.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.ContentExampleInfo;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.OperationMethod;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+import org.project.project.service.OpenApiParserService.ParameterInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catálogo binario persistente de endpoints extraídos, un segmento por versión de API
+ *
+ * Al arrancar se mapea el archivo en memoria (sólo se lee el índice); el segmento de una
+ * versión se decodifica la primera vez que se pide y únicamente si el hash del contrato
+ * coincide. Sólo se vuelven a parsear los contratos nuevos o modificados.
+ *
+ * Formato: cabecera (magic, versión de formato, nº de segmentos), índice
+ * (versionId, SHA-256 del contrato, offset, longitud) y segmentos con los endpoints. Cada
+ * endpoint guarda primero lo que indexa la búsqueda (método, path, summary, descripción) y
+ * luego un bloque con longitud (parámetros y ejemplos) que se salta al indexar. Los ejemplos
+ * JSON del endpoint se guardan como referencia a su ejemplo por media type, no dos veces.
+ *
+ * En memoria se mantienen como mucho openapi.catalog.max-loaded-versions versiones (LRU); las
+ * que ya están en el archivo se vuelven a decodificar al pedirse, las pendientes de guardar no
+ * se expulsan. El índice de búsqueda se carga en segundo plano tras mapear el archivo.
+ *
+ * Los cambios se guardan periódicamente desde un hilo propio (generando ahí los ejemplos
+ * diferidos que falten) y al apagar; al apagar no se generan ejemplos: las versiones con
+ * ejemplos pendientes se quedan fuera y se vuelven a parsear en el siguiente arranque.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class EndpointCatalogStore {
+
+    private static final int MAGIC = 0x45504341; // "EPCA"
+    private static final int FORMAT_VERSION = 4;
+
+    // Referencia del ejemplo JSON de un endpoint a su lista de ejemplos por media type
+    private static final int NO_EXAMPLE = -1;
+    private static final int INLINE_EXAMPLE = -2;
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = 12;
+    private static final int INDEX_ENTRY_BYTES = 8 + HASH_BYTES + 8 + 4;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    @Autowired
+    private EndpointSearchIndex endpointSearchIndex;
+
+    /**
+     * Indexar para búsqueda las versiones del catálogo al arrancar, en segundo plano (si no, al
+     * pedirse cada una)
+     */
+    @Value("${openapi.search.index-on-startup:true}")
+    private boolean indexOnStartup;
+
+    @Value("${openapi.catalog.path:${java.io.tmpdir}/devportal/endpoint-catalog.bin}")
+    private String catalogPath;
+
+    /**
+     * Cada cuánto se guardan los cambios en el archivo (0 = sólo al apagar)
+     */
+    @Value("${openapi.catalog.flush-interval-seconds:60}")
+    private long flushIntervalSeconds;
+
+    /**
+     * Versiones que se mantienen decodificadas en memoria
+     */
+    @Value("${openapi.catalog.max-loaded-versions:1000}")
+    private int maxLoadedVersions;
+
+    // Índice y mapeo del último archivo leído/escrito, publicados juntos: un lector nunca ve
+    // el índice de un archivo con el mapeo de otro
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Guardado periódico e indexación inicial
+    private ScheduledExecutorService maintenance;
+
+    // Versiones decodificadas o parseadas en esta ejecución (accessOrder = true: LRU)
+    private final LinkedHashMap<Long, CatalogEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+    private volatile boolean dirty;
+
+    @PostConstruct
+    public void load() {
+        startMaintenance();
+        Path path = Paths.get(catalogPath);
+        if (!Files.exists(path)) {
+            log.info("Catálogo de endpoints no encontrado en {}, se creará al guardar", path);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            snapshot = mapFile(path);
+            log.info("Catálogo de endpoints cargado: {} versiones en {} ms",
+                    snapshot.index.size(), (System.nanoTime() - start) / 1_000_000);
+            if (indexOnStartup) {
+                maintenance.execute(this::indexCatalog);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Un catálogo corrupto sólo implica volver a parsear
+            log.warn("Catálogo de endpoints inválido ({}), se ignorará: {}", path, e.getMessage());
+            snapshot = Snapshot.EMPTY;
+        }
+    }
+
+    private void startMaintenance() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "endpoint-catalog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (flushIntervalSeconds <= 0) {
+            return;
+        }
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Error al guardar el catálogo de endpoints: {}", e.getMessage(), e);
+            }
+        }, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Al apagar: guarda sólo lo que no requiere generar ejemplos
+     */
+    @PreDestroy
+    void shutdown() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        flush(false);
+    }
+
+    /**
+     * Devuelve los endpoints de una versión, parseando el contrato sólo si cambió su hash
+     *
+     * El parseo es incremental ({@link OpenApiParserService#parseContractIncremental}): al
+     * actualizar el contrato de una versión sólo se reprocesan los paths modificados.
+     *
+     * Un contrato inválido o rechazado no se guarda (ni en memoria ni en el archivo): la
+     * excepción llega al llamador y el siguiente intento vuelve a parsear.
+     *
+     * @param versionId ID de la versión
+     * @param contractYaml Contrato actual de la versión
+     * @return Endpoints de la versión
+     * @throws ContractRejectedException si el contrato supera algún límite de recursos
+     * @throws IllegalArgumentException si el contrato no se puede parsear
+     */
+    public List<EndpointInfo> getOrParse(Long versionId, String contractYaml) {
+        String contractHash = OpenApiContractCache.hash(contractYaml);
+
+        CatalogEntry entry = entry(versionId);
+        if (entry != null && entry.contractHash.equals(contractHash)) {
+            return entry.endpoints;
+        }
+
+        Snapshot current = snapshot;
+        Segment segment = current.index.get(versionId);
+        if (segment != null && segment.contractHash.equals(contractHash) && !removed.contains(versionId)) {
+            List<EndpointInfo> endpoints = decodeSegment(current.mapped, segment, openApiParserService.getDictionary());
+            putEntry(versionId, new CatalogEntry(contractHash, endpoints, true));
+            endpointSearchIndex.indexIfAbsent(versionId, endpoints);
+            return endpoints;
+        }
+
+        // Contrato nuevo o actualizado: sólo se re-extraen los paths que cambiaron desde el último parseo
+        return store(versionId, contractYaml,
+                openApiParserService.parseContractIncremental(versionId, contractYaml).getEndpoints());
+    }
+
+    /**
+     * Guarda los endpoints ya parseados de una versión (p.ej. desde la importación masiva) y los
+     * indexa para búsqueda; se escriben en el archivo en el próximo flush
+     *
+     * @param versionId ID de la versión
+     * @param contractYaml Contrato del que se extrajeron los endpoints
+     * @param endpoints Endpoints extraídos del contrato
+     * @return Endpoints guardados
+     */
+    public List<EndpointInfo> store(Long versionId, String contractYaml, List<EndpointInfo> endpoints) {
+        List<EndpointInfo> stored = List.copyOf(endpoints);
+        putEntry(versionId, new CatalogEntry(OpenApiContractCache.hash(contractYaml), stored, false));
+        removed.remove(versionId);
+        dirty = true;
+        endpointSearchIndex.index(versionId, stored);
+        return stored;
+    }
+
+    /**
+     * Elimina una versión del catálogo (se aplica al archivo en el próximo flush)
+     */
+    public void remove(Long versionId) {
+        synchronized (entries) {
+            entries.remove(versionId);
+        }
+        removed.add(versionId);
+        dirty = true;
+        endpointSearchIndex.remove(versionId);
+    }
+
+    private CatalogEntry entry(Long versionId) {
+        synchronized (entries) {
+            return entries.get(versionId);
+        }
+    }
+
+    /**
+     * Guarda la versión en memoria y expulsa las menos usadas que ya están en el archivo
+     */
+    private void putEntry(Long versionId, CatalogEntry entry) {
+        synchronized (entries) {
+            entries.put(versionId, entry);
+            Iterator<CatalogEntry> eldest = entries.values().iterator();
+            while (entries.size() > maxLoadedVersions && eldest.hasNext()) {
+                if (eldest.next().persisted) {
+                    eldest.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexa para búsqueda las versiones del archivo mapeado que aún no lo están, decodificando
+     * sólo los campos que se indexan (sin retenerlas en memoria)
+     */
+    private void indexCatalog() {
+        long start = System.nanoTime();
+        int endpointCount = 0;
+        Snapshot current = snapshot;
+        for (Map.Entry<Long, Segment> segment : current.index.entrySet()) {
+            Long versionId = segment.getKey();
+            // Las parseadas o eliminadas desde el arranque ya tienen su estado en el índice
+            if (endpointSearchIndex.contains(versionId) || removed.contains(versionId)) {
+                continue;
+            }
+            List<EndpointInfo> endpoints = decodeSearchFields(current.mapped, segment.getValue());
+            if (endpointSearchIndex.indexIfAbsent(versionId, endpoints)) {
+                endpointCount += endpoints.size();
+            }
+        }
+        log.info("Índice de búsqueda cargado: {} endpoints de {} versiones en {} ms",
+                endpointCount, current.index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Escribe el catálogo completo en un archivo temporal y lo reemplaza de forma atómica,
+     * generando los ejemplos diferidos que falten
+     */
+    public void flush() {
+        flush(true);
+    }
+
+    /**
+     * @param materialize false al apagar: las versiones con ejemplos pendientes no se escriben
+     *                    (conservan su segmento anterior si lo tenían) y quedan pendientes
+     */
+    private synchronized void flush(boolean materialize) {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        boolean skipped = false;
+        Path path = Paths.get(catalogPath);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+
+            Snapshot current = snapshot;
+            Map<Long, Segment> currentIndex = current.index;
+            MappedByteBuffer currentMapped = current.mapped;
+            Set<Long> removedSnapshot = Set.copyOf(removed);
+            Map<Long, CatalogEntry> loaded;
+            synchronized (entries) {
+                loaded = new HashMap<>(entries);
+            }
+            Set<Long> versionIds = new LinkedHashSet<>(currentIndex.keySet());
+            versionIds.addAll(loaded.keySet());
+            versionIds.removeAll(removedSnapshot);
+
+            // Segmentos: los no modificados se copian tal cual del archivo mapeado
+            List<Long> ids = new ArrayList<>(versionIds.size());
+            List<byte[]> hashes = new ArrayList<>(versionIds.size());
+            List<byte[]> segments = new ArrayList<>(versionIds.size());
+            Map<Long, CatalogEntry> encoded = new HashMap<>();
+            for (Long versionId : versionIds) {
+                CatalogEntry entry = loaded.get(versionId);
+                Segment onDisk = currentIndex.get(versionId);
+                if (entry != null && !materialize && !entry.persisted && hasDeferredExamples(entry.endpoints)) {
+                    entry = null;
+                    skipped = true;
+                }
+                byte[] bytes;
+                String hash;
+                if (entry == null || (entry.persisted && onDisk != null && onDisk.contractHash.equals(entry.contractHash))) {
+                    if (onDisk == null) {
+                        continue;
+                    }
+                    bytes = new byte[onDisk.length];
+                    currentMapped.get(onDisk.offset, bytes);
+                    hash = onDisk.contractHash;
+                } else {
+                    bytes = encodeSegment(entry.endpoints);
+                    hash = entry.contractHash;
+                    encoded.put(versionId, entry);
+                }
+                ids.add(versionId);
+                hashes.add(HexFormat.of().parseHex(hash));
+                segments.add(bytes);
+            }
+
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(ids.size());
+                long offset = HEADER_BYTES + (long) ids.size() * INDEX_ENTRY_BYTES;
+                for (int i = 0; i < ids.size(); i++) {
+                    out.writeLong(ids.get(i));
+                    out.write(hashes.get(i));
+                    out.writeLong(offset);
+                    out.writeInt(segments.get(i).length);
+                    offset += segments.get(i).length;
+                }
+                for (byte[] segment : segments) {
+                    out.write(segment);
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            snapshot = mapFile(path);
+            removed.removeAll(removedSnapshot);
+            markPersisted(encoded);
+            dirty |= skipped;
+            log.info("Catálogo de endpoints guardado: {} versiones{}", ids.size(),
+                    skipped ? " (versiones con ejemplos pendientes omitidas)" : "");
+        } catch (IOException e) {
+            dirty = true;
+            log.error("No se pudo guardar el catálogo de endpoints en {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Las versiones escritas pasan a estar en el archivo: el próximo flush las copia sin volver a
+     * codificarlas y ya se pueden expulsar de memoria (salvo que hayan cambiado mientras tanto)
+     */
+    private void markPersisted(Map<Long, CatalogEntry> written) {
+        synchronized (entries) {
+            written.forEach((versionId, entry) -> entries.computeIfPresent(versionId, (id, current) ->
+                    current == entry ? new CatalogEntry(entry.contractHash, entry.endpoints, true) : current));
+        }
+    }
+
+    private static boolean hasDeferredExamples(List<EndpointInfo> endpoints) {
+        for (EndpointInfo endpoint : endpoints) {
+            if (endpoint.hasDeferredExamples()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Snapshot mapFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Cabecera de catálogo no reconocida");
+            }
+            int count = buffer.getInt(8);
+            Map<Long, Segment> newIndex = new HashMap<>(count * 2);
+            int position = HEADER_BYTES;
+            byte[] hash = new byte[HASH_BYTES];
+            for (int i = 0; i < count; i++) {
+                long versionId = buffer.getLong(position);
+                buffer.get(position + 8, hash);
+                long offset = buffer.getLong(position + 8 + HASH_BYTES);
+                int length = buffer.getInt(position + 16 + HASH_BYTES);
+                newIndex.put(versionId, new Segment(HexFormat.of().formatHex(hash), Math.toIntExact(offset), length));
+                position += INDEX_ENTRY_BYTES;
+            }
+            return new Snapshot(Collections.unmodifiableMap(newIndex), buffer);
+        }
+    }
+
+    // --- Codificación de segmentos ---
+
+    static byte[] encodeSegment(List<EndpointInfo> endpoints) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * Math.max(1, endpoints.size()));
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream detailBytes = new ByteArrayOutputStream(256);
+        DataOutputStream details = new DataOutputStream(detailBytes);
+        out.writeInt(endpoints.size());
+        for (EndpointInfo endpoint : endpoints) {
+            // Campos de búsqueda
+            out.writeByte(endpoint.getMethod() != null ? endpoint.getMethod().ordinal() : -1);
+            writeString(out, endpoint.getPath());
+            writeString(out, endpoint.getSummary());
+            writeString(out, endpoint.getDescription());
+
+            // Detalle: parámetros y ejemplos, precedido de su longitud
+            detailBytes.reset();
+            List<ParameterInfo> parameters = endpoint.getParameters() != null ? endpoint.getParameters() : List.of();
+            details.writeInt(parameters.size());
+            for (ParameterInfo param : parameters) {
+                writeString(details, param.getName());
+                details.writeByte(param.getIn() != null ? param.getIn().ordinal() : -1);
+                details.writeBoolean(param.isRequired());
+                writeString(details, param.getDescription());
+                writeString(details, param.getType());
+                writeString(details, param.getExample());
+            }
+            writeContentExamples(details, endpoint.getRequestBodyExamples());
+            writeContentExamples(details, endpoint.getResponseExamples());
+            writeExampleRef(details, endpoint.getRequestBodyJson(), endpoint.getRequestBodyExamples());
+            writeExampleRef(details, endpoint.getResponseJson(), endpoint.getResponseExamples());
+            details.flush();
+            out.writeInt(detailBytes.size());
+            detailBytes.writeTo(out);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static List<EndpointInfo> decodeSegment(ByteBuffer file, Segment segment, StringDictionary dictionary) {
+        ByteBuffer in = file.slice(segment.offset, segment.length);
+        int count = in.getInt();
+        List<EndpointInfo> endpoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EndpointInfo endpoint = readSearchFields(in);
+            in.getInt(); // Longitud del detalle
+            int paramCount = in.getInt();
+            List<ParameterInfo> parameters = new ArrayList<>(paramCount);
+            for (int p = 0; p < paramCount; p++) {
+                ParameterInfo param = new ParameterInfo();
+                param.setName(dictionary.intern(readString(in)));
+                byte location = in.get();
+                param.setIn(location >= 0 ? ParameterLocation.values()[location] : null);
+                param.setRequired(in.get() != 0);
+                param.setDescription(readString(in));
+                param.setType(dictionary.intern(readString(in)));
+                param.setExample(readString(in));
+                parameters.add(param);
+            }
+            endpoint.setParameters(parameters);
+            List<ContentExampleInfo> requestExamples = readContentExamples(in, dictionary);
+            List<ContentExampleInfo> responseExamples = readContentExamples(in, dictionary);
+            endpoint.setRequestBodyExamples(requestExamples);
+            endpoint.setResponseExamples(responseExamples);
+            endpoint.setLazyRequestBodyJson(readExampleRef(in, requestExamples));
+            endpoint.setLazyResponseJson(readExampleRef(in, responseExamples));
+            endpoints.add(endpoint);
+        }
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * Decodifica sólo método, path, summary y descripción (lo que usa el índice de búsqueda)
+     */
+    static List<EndpointInfo> decodeSearchFields(ByteBuffer file, Segment segment) {
+        ByteBuffer in = file.slice(segment.offset, segment.length);
+        int count = in.getInt();
+        List<EndpointInfo> endpoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EndpointInfo endpoint = readSearchFields(in);
+            int detailLength = in.getInt();
+            in.position(in.position() + detailLength);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+
+    private static EndpointInfo readSearchFields(ByteBuffer in) {
+        EndpointInfo endpoint = new EndpointInfo();
+        byte method = in.get();
+        endpoint.setMethod(method >= 0 ? OperationMethod.values()[method] : null);
+        endpoint.setPath(readString(in));
+        endpoint.setSummary(readString(in));
+        endpoint.setDescription(readString(in));
+        return endpoint;
+    }
+
+    /**
+     * Ejemplo JSON del endpoint como índice en su lista de ejemplos por media type (es el mismo
+     * objeto); sólo se escribe completo si no está en la lista
+     */
+    private static void writeExampleRef(DataOutputStream out, EncodedJson json,
+                                        List<ContentExampleInfo> examples) throws IOException {
+        if (json == null) {
+            out.writeInt(NO_EXAMPLE);
+            return;
+        }
+        if (examples != null) {
+            for (int i = 0; i < examples.size(); i++) {
+                if (examples.get(i).getExample() == json) {
+                    out.writeInt(i);
+                    return;
+                }
+            }
+        }
+        out.writeInt(INLINE_EXAMPLE);
+        writeJson(out, json);
+    }
+
+    private static LazyExample readExampleRef(ByteBuffer in, List<ContentExampleInfo> examples) {
+        int ref = in.getInt();
+        if (ref == NO_EXAMPLE) {
+            return null;
+        }
+        if (ref == INLINE_EXAMPLE) {
+            return LazyExample.of(readJson(in));
+        }
+        return examples.get(ref).getLazyExample();
+    }
+
+    private static void writeContentExamples(DataOutputStream out, List<ContentExampleInfo> examples) throws IOException {
+        if (examples == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(examples.size());
+        for (ContentExampleInfo example : examples) {
+            writeString(out, example.getStatusCode());
+            writeString(out, example.getMediaType());
+            writeString(out, example.getDescription());
+            writeJson(out, example.getExample());
+        }
+    }
+
+    private static List<ContentExampleInfo> readContentExamples(ByteBuffer in, StringDictionary dictionary) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<ContentExampleInfo> examples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ContentExampleInfo example = new ContentExampleInfo();
+            example.setStatusCode(dictionary.intern(readString(in)));
+            example.setMediaType(dictionary.intern(readString(in)));
+            example.setDescription(readString(in));
+            example.setExample(readJson(in));
+            examples.add(example);
+        }
+        return examples;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static void writeJson(DataOutputStream out, EncodedJson json) throws IOException {
+        writeBytes(out, json != null ? json.bytes() : null);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static EncodedJson readJson(ByteBuffer in) {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? EncodedJson.of(bytes) : null;
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("persistedVersions", snapshot.index.size());
+        synchronized (entries) {
+            stats.put("loadedVersions", entries.size());
+        }
+        stats.put("maxLoadedVersions", maxLoadedVersions);
+        stats.put("dirty", dirty);
+        return stats;
+    }
+
+    /**
+     * Posición de un segmento dentro del archivo mapeado
+     */
+    record Segment(String contractHash, int offset, int length) {
+    }
+
+    /**
+     * Índice del archivo mapeado junto con su mapeo
+     */
+    private record Snapshot(Map<Long, Segment> index, MappedByteBuffer mapped) {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), null);
+    }
+
+    private record CatalogEntry(String contractHash, List<EndpointInfo> endpoints, boolean persisted) {
+    }
+}
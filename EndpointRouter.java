@@ -0,0 +1,217 @@
+package org.project.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.OperationMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Router compilado a partir de los endpoints de un contrato
+ *
+ * Cada método HTTP tiene un trie por segmentos del path template
+ * (/users/{id}/orders/{orderId}). El matching recorre la ruta una sola vez sin regex,
+ * prefiere segmentos literales sobre variables y extrae las variables del path.
+ * Una instancia es inmutable y puede compartirse entre hilos (mock server, gateway).
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+public final class EndpointRouter {
+
+    private final Map<OperationMethod, Node> roots;
+    private final int routeCount;
+    private final int maxPathVariables;
+
+    private EndpointRouter(Map<OperationMethod, Node> roots, int routeCount, int maxPathVariables) {
+        this.roots = roots;
+        this.routeCount = routeCount;
+        this.maxPathVariables = maxPathVariables;
+    }
+
+    /**
+     * Compila los endpoints de un contrato en un router
+     *
+     * @param endpoints Endpoints extraídos por OpenApiParserService
+     * @return Router listo para hacer matching
+     */
+    public static EndpointRouter compile(List<EndpointInfo> endpoints) {
+        Map<OperationMethod, Node> roots = new EnumMap<>(OperationMethod.class);
+        int count = 0;
+        int maxVariables = 0;
+
+        for (EndpointInfo endpoint : endpoints) {
+            if (endpoint.getMethod() == null || endpoint.getPath() == null) {
+                continue;
+            }
+            Node node = roots.computeIfAbsent(endpoint.getMethod(), m -> new Node());
+            String template = endpoint.getPath();
+            List<String> variableNames = new ArrayList<>();
+
+            int start = 0;
+            while ((start = nextSegmentStart(template, start)) < template.length()) {
+                int end = segmentEnd(template, start);
+                String segment = template.substring(start, end);
+                if (segment.indexOf('{') >= 0) {
+                    variableNames.add(variableName(segment));
+                    node = node.paramChild();
+                } else {
+                    node = node.literalChild(segment);
+                }
+                start = end;
+            }
+
+            if (node.endpoint != null) {
+                log.debug("Ruta duplicada ignorada: {} {}", endpoint.getMethod(), template);
+                continue;
+            }
+            node.endpoint = endpoint;
+            node.variableNames = variableNames.toArray(new String[0]);
+            count++;
+            maxVariables = Math.max(maxVariables, variableNames.size());
+        }
+        return new EndpointRouter(roots, count, maxVariables);
+    }
+
+    /**
+     * Busca el endpoint que corresponde a una petición
+     *
+     * @param method Método HTTP (GET, POST...)
+     * @param requestPath Ruta de la petición (se ignora el query string)
+     * @return Endpoint y variables del path, o null si ninguna ruta coincide
+     */
+    public RouteMatch match(String method, String requestPath) {
+        OperationMethod operationMethod = OperationMethod.fromValue(method);
+        return operationMethod != null ? match(operationMethod, requestPath) : null;
+    }
+
+    /**
+     * Busca el endpoint que corresponde a una petición
+     *
+     * @param method Método HTTP
+     * @param requestPath Ruta de la petición (se ignora el query string)
+     * @return Endpoint y variables del path, o null si ninguna ruta coincide
+     */
+    public RouteMatch match(OperationMethod method, String requestPath) {
+        Node root = roots.get(method);
+        if (root == null || requestPath == null) {
+            return null;
+        }
+        int length = requestPath.indexOf('?');
+        if (length < 0) {
+            length = requestPath.length();
+        }
+
+        String[] values = new String[maxPathVariables];
+        Node found = match(root, requestPath, 0, length, values, 0);
+        if (found == null) {
+            return null;
+        }
+
+        if (found.variableNames.length == 0) {
+            return new RouteMatch(found.endpoint, Collections.emptyMap());
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < found.variableNames.length; i++) {
+            variables.put(found.variableNames[i], values[i]);
+        }
+        return new RouteMatch(found.endpoint, variables);
+    }
+
+    /**
+     * Número de rutas (método + path) compiladas
+     */
+    public int size() {
+        return routeCount;
+    }
+
+    private static Node match(Node node, String path, int start, int length, String[] values, int paramIndex) {
+        start = nextSegmentStart(path, start, length);
+        if (start >= length) {
+            return node.endpoint != null ? node : null;
+        }
+        int end = segmentEnd(path, start, length);
+
+        // Primero el segmento literal, luego la variable (con backtracking)
+        if (node.literals != null) {
+            Node literal = node.literals.get(path.substring(start, end));
+            if (literal != null) {
+                Node found = match(literal, path, end, length, values, paramIndex);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        if (node.param != null && paramIndex < values.length) {
+            values[paramIndex] = path.substring(start, end);
+            return match(node.param, path, end, length, values, paramIndex + 1);
+        }
+        return null;
+    }
+
+    private static int nextSegmentStart(String path, int start) {
+        return nextSegmentStart(path, start, path.length());
+    }
+
+    private static int nextSegmentStart(String path, int start, int length) {
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        return segmentEnd(path, start, path.length());
+    }
+
+    private static int segmentEnd(String path, int start, int length) {
+        int end = start;
+        while (end < length && path.charAt(end) != '/') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Nombre de la variable de un segmento template: "{id}" -> "id", "{file}.json" -> "file"
+     */
+    private static String variableName(String segment) {
+        int open = segment.indexOf('{');
+        int close = segment.indexOf('}', open);
+        return close > open ? segment.substring(open + 1, close) : segment;
+    }
+
+    /**
+     * Resultado del matching: endpoint y variables del path ({id} -> valor)
+     */
+    public record RouteMatch(EndpointInfo endpoint, Map<String, String> pathVariables) {
+    }
+
+    private static final class Node {
+        private Map<String, Node> literals;
+        private Node param;
+        private EndpointInfo endpoint;
+        private String[] variableNames;  // Sólo en nodos terminales, en orden de aparición
+
+        Node literalChild(String segment) {
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node paramChild() {
+            if (param == null) {
+                param = new Node();
+            }
+            return param;
+        }
+    }
+}
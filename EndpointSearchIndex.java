@@ -0,0 +1,482 @@
+package org.project.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.OperationMethod;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para buscar endpoints de todas las versiones de API
+ *
+ * Se indexan los segmentos del path, el summary y la descripción (en minúsculas y sin
+ * tildes). Los términos están ordenados (TreeMap), así que una búsqueda por prefijo es un
+ * rango del diccionario; cada término guarda sus documentos en arrays ordenados con un peso
+ * por campo (path > summary > descripción). Las consultas exigen todos los términos y se
+ * ordenan por peso × IDF. Un prefijo muy corto se expande como mucho a MAX_PREFIX_EXPANSIONS
+ * términos (los de más documentos), cuyas postings se unen en una sola pasada (k-way merge); si
+ * se recorta, el resultado lo indica con {@code truncated}.
+ * Sólo se devuelven endpoints de las versiones que el llamador puede ver.
+ *
+ * Se mantiene de forma incremental: reindexar o eliminar una versión marca sus documentos
+ * como borrados y el índice se compacta cuando los borrados superan a los vivos.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class EndpointSearchIndex {
+
+    private static final float PATH_WEIGHT = 3f;
+    private static final float SUMMARY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_LIMIT = 200;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CAMEL_CASE = Pattern.compile("(?<=\\p{Ll})(?=\\p{Lu})");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Diccionario de términos ordenado (prefijos = rangos)
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    // Documentos por id; null si está borrado
+    private final List<IndexedEndpoint> documents = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, int[]> documentsByVersion = new HashMap<>();
+    private int liveDocuments;
+
+    /**
+     * Indexa (o reindexa) los endpoints de una versión
+     */
+    public void index(Long versionId, List<EndpointInfo> endpoints) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(versionId);
+            int[] docIds = new int[endpoints.size()];
+            for (int i = 0; i < endpoints.size(); i++) {
+                docIds[i] = addDocument(versionId, endpoints.get(i));
+            }
+            documentsByVersion.put(versionId, docIds);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa los endpoints de una versión sólo si aún no está en el índice
+     *
+     * @return false si la versión ya estaba indexada
+     */
+    public boolean indexIfAbsent(Long versionId, List<EndpointInfo> endpoints) {
+        lock.writeLock().lock();
+        try {
+            if (documentsByVersion.containsKey(versionId)) {
+                return false;
+            }
+            index(versionId, endpoints);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita del índice los endpoints de una versión
+     */
+    public void remove(Long versionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(versionId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long versionId) {
+        lock.readLock().lock();
+        try {
+            return documentsByVersion.containsKey(versionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca endpoints que contengan todos los términos de la consulta
+     *
+     * @param query Texto libre ("users id", "/orders/{id}", "crear pedido")
+     * @param prefix Si es true cada término también coincide como prefijo ("ord" → "orders")
+     * @param limit Número máximo de resultados
+     * @param visibleVersions Versiones que puede ver el llamador (el resto se descarta antes del límite)
+     * @return Resultados ordenados por relevancia
+     */
+    public SearchResult search(String query, boolean prefix, int limit, Predicate<Long> visibleVersions) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (queryTerms.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            boolean truncated = false;
+            List<Postings> matches = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings termMatches;
+                if (prefix) {
+                    Expansion expansion = matchPrefix(term);
+                    termMatches = expansion.postings();
+                    truncated |= expansion.truncated();
+                } else {
+                    termMatches = matchExact(term);
+                }
+                if (termMatches == null || termMatches.size == 0) {
+                    return new SearchResult(List.of(), truncated);
+                }
+                matches.add(termMatches);
+            }
+
+            // Intersección empezando por el término más selectivo
+            matches.sort(Comparator.comparingInt(postings -> postings.size));
+            Postings result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.size > 0; i++) {
+                result = intersect(result, matches.get(i));
+            }
+            return new SearchResult(topHits(result, max, visibleVersions), truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estadísticas del índice
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("versions", documentsByVersion.size());
+            stats.put("endpoints", liveDocuments);
+            stats.put("deletedDocuments", deleted.cardinality());
+            stats.put("terms", terms.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addDocument(Long versionId, EndpointInfo endpoint) {
+        int docId = documents.size();
+        documents.add(new IndexedEndpoint(versionId, endpoint.getMethod(), endpoint.getPath(), endpoint.getSummary()));
+        liveDocuments++;
+
+        // Peso acumulado por término en este documento; los ids crecen, las postings quedan ordenadas
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, endpoint.getPath(), PATH_WEIGHT);
+        addField(weights, endpoint.getSummary(), SUMMARY_WEIGHT);
+        addField(weights, endpoint.getDescription(), DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, key -> new Postings(4)).add(docId, weight));
+        return docId;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, fieldWeight, Float::sum);
+        }
+    }
+
+    private void removeLocked(Long versionId) {
+        int[] docIds = documentsByVersion.remove(versionId);
+        if (docIds == null) {
+            return;
+        }
+        for (int docId : docIds) {
+            documents.set(docId, null);
+            deleted.set(docId);
+        }
+        liveDocuments -= docIds.length;
+    }
+
+    /**
+     * Renumera los documentos vivos cuando hay más borrados que vivos (no se vuelve a tokenizar)
+     */
+    private void compactIfNeeded() {
+        int deletedCount = deleted.cardinality();
+        if (deletedCount == 0 || deletedCount <= liveDocuments) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] newIds = new int[documents.size()];
+        List<IndexedEndpoint> live = new ArrayList<>(liveDocuments);
+        for (int docId = 0; docId < documents.size(); docId++) {
+            IndexedEndpoint document = documents.get(docId);
+            newIds[docId] = document != null ? live.size() : -1;
+            if (document != null) {
+                live.add(document);
+            }
+        }
+
+        // Los ids conservan el orden relativo: las postings siguen ordenadas
+        terms.values().removeIf(postings -> postings.remap(newIds) == 0);
+        documentsByVersion.replaceAll((versionId, docIds) -> {
+            int[] remapped = new int[docIds.length];
+            for (int i = 0; i < docIds.length; i++) {
+                remapped[i] = newIds[docIds[i]];
+            }
+            return remapped;
+        });
+        documents.clear();
+        documents.addAll(live);
+        deleted.clear();
+        log.debug("Índice de endpoints compactado: {} documentos, {} borrados descartados en {} ms",
+                live.size(), deletedCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Postings matchExact(String term) {
+        Postings postings = terms.get(term);
+        return postings != null ? postings.scored(idf(postings)) : null;
+    }
+
+    /**
+     * Une las postings de los términos que empiezan por el prefijo; si hay más de
+     * MAX_PREFIX_EXPANSIONS se quedan los de más documentos (no los primeros en orden alfabético)
+     */
+    private Expansion matchPrefix(String prefix) {
+        NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        // Min-heap por nº de documentos con los MAX_PREFIX_EXPANSIONS términos más frecuentes
+        PriorityQueue<Postings> expansions = new PriorityQueue<>(Comparator.comparingInt(postings -> postings.size));
+        boolean truncated = false;
+        for (Postings postings : range.values()) {
+            expansions.add(postings);
+            if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                expansions.poll();
+                truncated = true;
+            }
+        }
+        return new Expansion(merge(new ArrayList<>(expansions)), truncated);
+    }
+
+    private float idf(Postings postings) {
+        return (float) Math.log(1 + (double) Math.max(liveDocuments, 1) / Math.max(postings.size, 1));
+    }
+
+    /**
+     * Unión ordenada de varias postings en una sola pasada: un heap con la posición de cada lista
+     * da el siguiente documento (O(N log k), sin uniones intermedias). Los pesos se multiplican
+     * por el IDF de su término; si un documento aparece en varias se queda con el mayor.
+     *
+     * @return null si no hay postings
+     */
+    private Postings merge(List<Postings> lists) {
+        if (lists.isEmpty()) {
+            return null;
+        }
+        int total = 0;
+        float[] idfs = new float[lists.size()];
+        int[] positions = new int[lists.size()];
+        PriorityQueue<Integer> heap = new PriorityQueue<>(lists.size(),
+                Comparator.comparingInt(list -> lists.get(list).docs[positions[list]]));
+        for (int list = 0; list < lists.size(); list++) {
+            Postings postings = lists.get(list);
+            idfs[list] = idf(postings);
+            total += postings.size;
+            if (postings.size > 0) {
+                heap.add(list);
+            }
+        }
+
+        Postings result = new Postings(total);
+        while (!heap.isEmpty()) {
+            int list = heap.poll();
+            Postings postings = lists.get(list);
+            int docId = postings.docs[positions[list]];
+            float weight = postings.weights[positions[list]] * idfs[list];
+            if (result.size > 0 && result.docs[result.size - 1] == docId) {
+                result.weights[result.size - 1] = Math.max(result.weights[result.size - 1], weight);
+            } else {
+                result.add(docId, weight);
+            }
+            if (++positions[list] < postings.size) {
+                heap.add(list);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersección ordenada sumando los pesos
+     */
+    private static Postings intersect(Postings a, Postings b) {
+        Postings result = new Postings(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.docs[i] < b.docs[j]) {
+                i++;
+            } else if (b.docs[j] < a.docs[i]) {
+                j++;
+            } else {
+                result.add(a.docs[i], a.weights[i++] + b.weights[j++]);
+            }
+        }
+        return result;
+    }
+
+    private List<SearchHit> topHits(Postings result, int limit, Predicate<Long> visibleVersions) {
+        // Min-heap con los mejores `limit` documentos vivos y visibles
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(SearchHit::score));
+        for (int i = 0; i < result.size; i++) {
+            int docId = result.docs[i];
+            if (deleted.get(docId)) {
+                continue;
+            }
+            float score = result.weights[i];
+            if (best.size() < limit || score > best.peek().score()) {
+                IndexedEndpoint document = documents.get(docId);
+                if (!visibleVersions.test(document.versionId())) {
+                    continue;
+                }
+                best.add(new SearchHit(document.versionId(), document.method(), document.path(), document.summary(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+        return hits;
+    }
+
+    /**
+     * Separa en términos: segmentos de path, camelCase y palabras; minúsculas y sin tildes
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String word : SEPARATORS.split(text)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String[] parts = CAMEL_CASE.split(word);
+            if (parts.length > 1) {
+                addToken(tokens, word);
+            }
+            for (String part : parts) {
+                addToken(tokens, part);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String word) {
+        if (word.length() < MIN_TOKEN_LENGTH) {
+            return;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(word, Normalizer.Form.NFD)).replaceAll("");
+        tokens.add(normalized.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Documentos y pesos de un término, ordenados por id de documento
+     */
+    private static final class Postings {
+        private int[] docs;
+        private float[] weights;
+        private int size;
+
+        Postings(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            weights = new float[docs.length];
+        }
+
+        void add(int docId, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = docId;
+            weights[size++] = weight;
+        }
+
+        /**
+         * Aplica la renumeración de documentos descartando los borrados (id -1)
+         *
+         * @return Documentos que quedan
+         */
+        int remap(int[] newIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newId = newIds[docs[i]];
+                if (newId >= 0) {
+                    docs[kept] = newId;
+                    weights[kept++] = weights[i];
+                }
+            }
+            size = kept;
+            return kept;
+        }
+
+        /**
+         * Copia con los pesos multiplicados por el IDF del término
+         */
+        Postings scored(float idf) {
+            Postings scored = new Postings(size);
+            for (int i = 0; i < size; i++) {
+                scored.add(docs[i], weights[i] * idf);
+            }
+            return scored;
+        }
+    }
+
+    /**
+     * Datos mínimos de un endpoint indexado (no se retiene el EndpointInfo completo)
+     */
+    private record IndexedEndpoint(Long versionId, OperationMethod method, String path, String summary) {
+    }
+
+    /**
+     * Postings de un prefijo y si se descartaron términos por MAX_PREFIX_EXPANSIONS
+     */
+    private record Expansion(Postings postings, boolean truncated) {
+    }
+
+    /**
+     * Resultados de una búsqueda; truncated indica que algún prefijo se expandió sólo en parte
+     */
+    public record SearchResult(List<SearchHit> hits, boolean truncated) {
+        static final SearchResult EMPTY = new SearchResult(List.of(), false);
+    }
+
+    /**
+     * Resultado de búsqueda
+     */
+    public record SearchHit(Long versionId, OperationMethod method, String path, String summary, float score) {
+    }
+}
@@ -0,0 +1,160 @@
+package org.project.project.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias log-lineal (mismo esquema que HdrHistogram), en microsegundos
+ *
+ * Hasta 128 µs un bucket por microsegundo; a partir de ahí cada potencia de 2 se divide en
+ * 64 sub-buckets, con un error relativo menor al 1,6% y memoria fija (~14 KB) hasta ~2 horas.
+ * Registrar es lock-free, así que varios hilos pueden grabar a la vez.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int MAX_SHIFT = 26;
+    private static final long MAX_VALUE = (1L << (MAX_SHIFT + SUB_BUCKET_BITS + 1)) - 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Registra una latencia (los valores fuera de rango se saturan al máximo)
+     */
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Suma los conteos de otro histograma
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count > 0 ? (double) totalMicros.get() / count : 0;
+    }
+
+    /**
+     * Valor en el percentil indicado (0-100): límite superior del bucket que lo contiene
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Distribución de percentiles en el formato de HdrHistogram.outputPercentileDistribution
+     * (valores en milisegundos): los percentiles se acercan a 100 partiendo a la mitad la distancia
+     * restante, con {@code ticksPerHalfDistance} filas por cada mitad.
+     */
+    public String percentileDistribution(int ticksPerHalfDistance) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%12s %14s %10s %14s%n%n",
+                "Value", "Percentile", "TotalCount", "1/(1-Percentile)"));
+        long count = totalCount.get();
+        if (count > 0) {
+            for (double percentile : percentileTicks(ticksPerHalfDistance, count)) {
+                long value = getValueAtPercentile(percentile);
+                long below = countAtOrBelow(value);
+                double fraction = percentile / 100.0;
+                out.append(fraction < 1.0
+                        ? String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n",
+                                value / 1000.0, fraction, below, 1 / (1 - fraction))
+                        : String.format(Locale.ROOT, "%12.3f %2.12f %10d%n", value / 1000.0, fraction, below));
+            }
+        }
+        out.append(String.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12s]%n", getMeanMicros() / 1000.0, "n/a"));
+        out.append(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", maxMicros.get() / 1000.0, count));
+        out.append(String.format(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]%n", BUCKETS, SUB_BUCKETS));
+        return out.toString();
+    }
+
+    private List<Double> percentileTicks(int ticksPerHalfDistance, long count) {
+        List<Double> ticks = new ArrayList<>();
+        double percentile = 0;
+        double halfDistance = 50;
+        // Se detiene cuando un tick ya no distingue muestras (como HdrHistogram)
+        while (percentile < 100 && (100 - percentile) * count / 100.0 >= 0.5) {
+            for (int i = 0; i < ticksPerHalfDistance && percentile < 100; i++) {
+                ticks.add(percentile);
+                percentile += halfDistance / ticksPerHalfDistance;
+            }
+            halfDistance /= 2;
+        }
+        ticks.add(100.0);
+        return ticks;
+    }
+
+    private long countAtOrBelow(long value) {
+        long seen = 0;
+        int last = bucketIndex(Math.min(value, MAX_VALUE));
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKETS;
+        int shift = offset / SUB_BUCKETS + 1;
+        long subBucket = offset % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
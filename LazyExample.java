@@ -0,0 +1,65 @@
+package org.project.project.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Ejemplo JSON que se genera la primera vez que se pide y queda memorizado
+ *
+ * Mientras no se materializa retiene el Supplier (y con él el schema del contrato); al
+ * generarse se libera y sólo quedan los bytes. Seguro para varios hilos.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public final class LazyExample {
+
+    private volatile Supplier<EncodedJson> generator;
+    private volatile EncodedJson value;
+
+    private LazyExample(Supplier<EncodedJson> generator, EncodedJson value) {
+        this.generator = generator;
+        this.value = value;
+    }
+
+    /**
+     * Ejemplo ya generado (o null)
+     */
+    public static LazyExample of(EncodedJson value) {
+        return new LazyExample(null, value);
+    }
+
+    /**
+     * Ejemplo diferido: el generador se invoca como mucho una vez
+     */
+    public static LazyExample deferred(Supplier<EncodedJson> generator) {
+        return new LazyExample(generator, null);
+    }
+
+    /**
+     * Devuelve el ejemplo, generándolo si aún no existe
+     */
+    public EncodedJson get() {
+        if (generator == null) {
+            return value;
+        }
+        synchronized (this) {
+            Supplier<EncodedJson> pending = generator;
+            if (pending != null) {
+                value = pending.get();
+                generator = null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Ejemplo sólo si ya fue generado (no dispara la generación)
+     */
+    public EncodedJson peek() {
+        return generator == null ? value : null;
+    }
+
+    public boolean isMaterialized() {
+        return generator == null;
+    }
+}
@@ -0,0 +1,25 @@
+package org.project.project.service;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * Generador del ejemplo de un cuerpo para una familia de media types (JSON, XML, formulario...)
+ *
+ * El resultado es siempre un valor JSON listo para incrustarse en una respuesta: el propio
+ * documento para los media types JSON, o un string JSON con el cuerpo en texto para el resto.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@FunctionalInterface
+public interface MediaTypeExampleGenerator {
+
+    /**
+     * @param examples Generador de ejemplos del contrato (aplica los límites del parser)
+     * @param schema Schema del cuerpo (puede ser null)
+     * @param mediaType Media type normalizado (sin parámetros, en minúsculas)
+     * @return Ejemplo codificado, o null si no se puede generar
+     * @throws ContractRejectedException si el ejemplo supera los límites configurados
+     */
+    EncodedJson generate(SchemaExampleGenerator examples, Schema schema, String mediaType);
+}
@@ -0,0 +1,357 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.media.Schema;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de generadores de ejemplos por media type
+ *
+ * La selección no recorre una cadena de comparaciones: se busca el media type exacto, luego
+ * su sufijo estructurado (+json, +xml) y luego el tipo principal (image/*, text/*); si nada
+ * coincide se usa el generador por defecto (binario). El resultado se memoriza por media type,
+ * así que cada valor distinto del contrato se resuelve una sola vez.
+ *
+ * Incluye JSON, XML, formularios (urlencoded y multipart), NDJSON, texto plano y binario.
+ * Es un bean compartido: otros componentes pueden registrar generadores adicionales con
+ * {@link #register(String, MediaTypeExampleGenerator)} al iniciar la aplicación.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Component
+public class MediaTypeExampleRegistry {
+
+    public static final MediaTypeExampleGenerator JSON = MediaTypeExampleRegistry::json;
+    public static final MediaTypeExampleGenerator XML = MediaTypeExampleRegistry::xml;
+    public static final MediaTypeExampleGenerator FORM = MediaTypeExampleRegistry::form;
+    public static final MediaTypeExampleGenerator MULTIPART = MediaTypeExampleRegistry::multipart;
+    public static final MediaTypeExampleGenerator NDJSON = MediaTypeExampleRegistry::ndjson;
+    public static final MediaTypeExampleGenerator TEXT = MediaTypeExampleRegistry::text;
+    public static final MediaTypeExampleGenerator BINARY = MediaTypeExampleRegistry::binary;
+
+    private static final String MULTIPART_BOUNDARY = "----DevPortalBoundary";
+
+    // Más allá de este número de media types distintos no se memoriza (valores arbitrarios de los contratos)
+    private static final int MAX_RESOLVED = 1024;
+
+    private final Map<String, MediaTypeExampleGenerator> exact = new ConcurrentHashMap<>();
+    private final Map<String, MediaTypeExampleGenerator> suffixes = new ConcurrentHashMap<>();
+    private final Map<String, MediaTypeExampleGenerator> mainTypes = new ConcurrentHashMap<>();
+    private final Map<String, MediaTypeExampleGenerator> resolved = new ConcurrentHashMap<>();
+    private volatile MediaTypeExampleGenerator fallback = BINARY;
+
+    /**
+     * Registro con los generadores incluidos
+     */
+    public MediaTypeExampleRegistry() {
+        register("application/json", JSON);
+        register("text/json", JSON);
+        registerSuffix("json", JSON);
+
+        register("application/xml", XML);
+        register("text/xml", XML);
+        registerSuffix("xml", XML);
+
+        register("application/x-www-form-urlencoded", FORM);
+        register("multipart/form-data", MULTIPART);
+        register("multipart/mixed", MULTIPART);
+
+        register("application/x-ndjson", NDJSON);
+        register("application/ndjson", NDJSON);
+        register("application/jsonl", NDJSON);
+        register("application/json-seq", NDJSON);
+
+        register("text/plain", TEXT);
+        register("text/csv", TEXT);
+        registerMainType("text", TEXT);
+    }
+
+    /**
+     * Registro independiente con los generadores incluidos (fuera de Spring: benchmarks, herramientas)
+     */
+    public static MediaTypeExampleRegistry defaults() {
+        return new MediaTypeExampleRegistry();
+    }
+
+    /**
+     * Registra (o reemplaza) el generador de un media type exacto, p. ej. "application/vnd.api+json"
+     */
+    public void register(String mediaType, MediaTypeExampleGenerator generator) {
+        exact.put(normalize(mediaType), generator);
+        resolved.clear();
+    }
+
+    /**
+     * Registra el generador de un sufijo estructurado (RFC 6839), p. ej. "json" para "application/problem+json"
+     */
+    public void registerSuffix(String suffix, MediaTypeExampleGenerator generator) {
+        suffixes.put(suffix.toLowerCase(Locale.ROOT), generator);
+        resolved.clear();
+    }
+
+    /**
+     * Registra el generador de un tipo principal, p. ej. "image" para "image/png"
+     */
+    public void registerMainType(String mainType, MediaTypeExampleGenerator generator) {
+        mainTypes.put(mainType.toLowerCase(Locale.ROOT), generator);
+        resolved.clear();
+    }
+
+    public void setFallback(MediaTypeExampleGenerator generator) {
+        this.fallback = generator;
+        resolved.clear();
+    }
+
+    /**
+     * Generador para un media type tal como aparece en el contrato (admite parámetros y mayúsculas)
+     */
+    public MediaTypeExampleGenerator resolve(String mediaType) {
+        String key = mediaType != null ? mediaType : "";
+        MediaTypeExampleGenerator generator = resolved.get(key);
+        if (generator != null) {
+            return generator;
+        }
+        generator = lookup(normalize(key));
+        if (resolved.size() < MAX_RESOLVED) {
+            resolved.put(key, generator);
+        }
+        return generator;
+    }
+
+    /**
+     * Genera el ejemplo del media type indicado
+     *
+     * @throws ContractRejectedException si el ejemplo supera los límites configurados
+     */
+    public EncodedJson generate(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        return resolve(mediaType).generate(examples, schema, normalize(mediaType));
+    }
+
+    /**
+     * true si el media type usa el generador JSON (el ejemplo es el documento y no un cuerpo en texto)
+     */
+    public boolean isJson(String mediaType) {
+        return resolve(mediaType) == JSON;
+    }
+
+    private MediaTypeExampleGenerator lookup(String mediaType) {
+        MediaTypeExampleGenerator generator = exact.get(mediaType);
+        if (generator != null) {
+            return generator;
+        }
+        int plus = mediaType.lastIndexOf('+');
+        if (plus >= 0) {
+            generator = suffixes.get(mediaType.substring(plus + 1));
+            if (generator != null) {
+                return generator;
+            }
+        }
+        int slash = mediaType.indexOf('/');
+        if (slash > 0) {
+            generator = mainTypes.get(mediaType.substring(0, slash));
+            if (generator != null) {
+                return generator;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * "Application/JSON; charset=utf-8" -> "application/json"
+     */
+    static String normalize(String mediaType) {
+        if (mediaType == null) {
+            return "";
+        }
+        int semicolon = mediaType.indexOf(';');
+        String type = semicolon >= 0 ? mediaType.substring(0, semicolon) : mediaType;
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // --- Generadores incluidos ---
+
+    private static EncodedJson json(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        return examples.encode(schema);
+    }
+
+    private static EncodedJson xml(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        StringBuilder out = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        String root = xmlName(xmlRootName(schema));
+        JsonNode node = examples.generateNode(schema);
+        if (node.isArray()) {
+            // Un documento XML tiene un único elemento raíz: los elementos del array van dentro
+            out.append('<').append(root).append(">\n");
+            String item = xmlName(xmlRootName(schema != null ? schema.getItems() : null, "item"));
+            for (JsonNode element : node) {
+                writeXml(out, item, element, 1);
+            }
+            out.append("</").append(root).append(">\n");
+        } else {
+            writeXml(out, root, node, 0);
+        }
+        return examples.encodeText(out.toString());
+    }
+
+    private static EncodedJson form(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        JsonNode node = examples.generateNode(schema);
+        StringBuilder out = new StringBuilder();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            // Los arrays de valores simples se envían repitiendo la clave (estilo form, explode=true)
+            Iterable<JsonNode> values = field.getValue().isArray() ? field.getValue() : List.of(field.getValue());
+            for (JsonNode value : values) {
+                if (out.length() > 0) {
+                    out.append('&');
+                }
+                out.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(formValue(value), StandardCharsets.UTF_8));
+            }
+        }
+        return examples.encodeText(out.toString());
+    }
+
+    private static EncodedJson multipart(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        JsonNode node = examples.generateNode(schema);
+        Map<String, Schema> properties = schema != null && schema.getProperties() != null
+                ? schema.getProperties()
+                : Map.of();
+        StringBuilder out = new StringBuilder();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            Schema property = properties.get(field.getKey());
+            boolean binary = property != null && ("binary".equals(property.getFormat()) || "base64".equals(property.getFormat()));
+            out.append("--").append(MULTIPART_BOUNDARY).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"").append(field.getKey()).append('"');
+            if (binary) {
+                out.append("; filename=\"").append(field.getKey()).append("\"\r\n")
+                        .append("Content-Type: application/octet-stream\r\n\r\n")
+                        .append("<binary>\r\n");
+            } else if (field.getValue().isContainerNode()) {
+                out.append("\r\nContent-Type: application/json\r\n\r\n")
+                        .append(field.getValue()).append("\r\n");
+            } else {
+                out.append("\r\n\r\n").append(formValue(field.getValue())).append("\r\n");
+            }
+        }
+        out.append("--").append(MULTIPART_BOUNDARY).append("--\r\n");
+        return examples.encodeText(out.toString());
+    }
+
+    private static EncodedJson ndjson(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        JsonNode node = examples.generateNode(schema);
+        StringBuilder out = new StringBuilder();
+        // Un array se emite como un registro por línea; cualquier otro valor como una sola línea
+        for (JsonNode line : node.isArray() ? node : List.of(node)) {
+            out.append(line).append('\n');
+        }
+        return examples.encodeText(out.toString());
+    }
+
+    private static EncodedJson text(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        JsonNode node = examples.generateNode(schema);
+        return examples.encodeText(node.isValueNode() ? node.asText() : node.toString());
+    }
+
+    private static EncodedJson binary(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        return examples.encodeText("<binary " + (mediaType.isEmpty() ? "application/octet-stream" : mediaType) + ">");
+    }
+
+    private static String formValue(JsonNode value) {
+        if (value.isContainerNode()) {
+            return value.toString();
+        }
+        return value.isNull() ? "" : value.asText();
+    }
+
+    private static String xmlRootName(Schema schema) {
+        return xmlRootName(schema, "root");
+    }
+
+    /**
+     * Nombre del elemento: xml.name del schema, el nombre del componente referenciado o el nombre por defecto
+     */
+    private static String xmlRootName(Schema schema, String defaultName) {
+        if (schema == null) {
+            return defaultName;
+        }
+        if (schema.getXml() != null && schema.getXml().getName() != null) {
+            return schema.getXml().getName();
+        }
+        if (schema.get$ref() != null) {
+            return schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+        }
+        return defaultName;
+    }
+
+    /**
+     * Nombre de elemento XML válido: los caracteres no permitidos pasan a '_' y se antepone '_'
+     * si empieza por algo que no sea letra o '_' o por "xml" (reservado)
+     */
+    static String xmlName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "_";
+        }
+        StringBuilder out = new StringBuilder(name.length() + 1);
+        char first = name.charAt(0);
+        if (!(Character.isLetter(first) || first == '_') || name.regionMatches(true, 0, "xml", 0, 3)) {
+            out.append('_');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            out.append(Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' ? c : '_');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Objetos como elementos hijos y arrays como elementos repetidos (sin envoltorio, como en OpenAPI)
+     */
+    private static void writeXml(StringBuilder out, String name, JsonNode node, int depth) {
+        if (node.isArray()) {
+            for (JsonNode item : node) {
+                writeXml(out, name, item, depth);
+            }
+            return;
+        }
+        out.append("  ".repeat(depth)).append('<').append(name);
+        if (node.isNull() || (node.isObject() && node.isEmpty())) {
+            out.append("/>\n");
+            return;
+        }
+        out.append('>');
+        if (node.isObject()) {
+            out.append('\n');
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                writeXml(out, xmlName(field.getKey()), field.getValue(), depth + 1);
+            }
+            out.append("  ".repeat(depth));
+        } else {
+            escapeXml(out, node.asText());
+        }
+        out.append("</").append(name).append(">\n");
+    }
+
+    private static void escapeXml(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.project.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.project.service.OpenApiParserService.ContentExampleInfo;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.ParameterInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache LRU acotado por tamaño para los endpoints extraídos de contratos OpenAPI.
+ *
+ * La clave es el SHA-256 del texto del contrato, de modo que el mismo contrato
+ * reenviado (redeploy, vista del portal) no vuelve a pasar por el parser.
+ * El límite se expresa en bytes estimados de los endpoints retenidos; mientras queden ejemplos
+ * diferidos se cuenta también el modelo del contrato que retienen sus generadores.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class OpenApiContractCache {
+
+    /**
+     * Bytes de heap del modelo parseado (OpenAPI, schemas) por carácter del contrato: lo retienen
+     * los ejemplos diferidos hasta que se generan
+     */
+    static final int RETAINED_MODEL_BYTES_PER_CHAR = 8;
+
+    private final long maxWeightBytes;
+
+    // accessOrder = true: el primer elemento es siempre el menos usado recientemente
+    private final LinkedHashMap<String, CachedContract> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeightBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OpenApiContractCache(@Value("${openapi.parser.cache.max-bytes:67108864}") long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    /**
+     * Calcula la clave de cache (SHA-256 en hexadecimal) del texto de un contrato
+     */
+    public static String hash(String contract) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = (contract != null ? contract : "").getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 es obligatorio en toda JVM
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Obtiene los endpoints cacheados para un hash de contrato
+     *
+     * @return Lista cacheada (no modificable) o null si no existe
+     */
+    public synchronized List<EndpointInfo> get(String contractHash) {
+        CachedContract cached = entries.get(contractHash);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.endpoints;
+    }
+
+    /**
+     * Guarda los endpoints de un contrato, expulsando los menos usados si se supera el límite
+     */
+    public void put(String contractHash, List<EndpointInfo> endpoints) {
+        put(contractHash, endpoints, 0);
+    }
+
+    /**
+     * Igual que {@link #put(String, List)} indicando el largo del contrato, para contar el
+     * modelo que retienen los ejemplos aún diferidos
+     */
+    public synchronized void put(String contractHash, List<EndpointInfo> endpoints, long contractLength) {
+        long weight = estimateWeight(endpoints, contractLength);
+        if (weight > maxWeightBytes) {
+            log.debug("Contrato {} demasiado grande para el cache ({} bytes estimados)", contractHash, weight);
+            return;
+        }
+
+        CachedContract previous = entries.put(contractHash, new CachedContract(List.copyOf(endpoints), weight));
+        if (previous != null) {
+            currentWeightBytes -= previous.weightBytes;
+        }
+        currentWeightBytes += weight;
+
+        Iterator<Map.Entry<String, CachedContract>> it = entries.entrySet().iterator();
+        while (currentWeightBytes > maxWeightBytes && it.hasNext()) {
+            Map.Entry<String, CachedContract> eldest = it.next();
+            currentWeightBytes -= eldest.getValue().weightBytes;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Vacía el cache (los contadores se conservan)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentWeightBytes = 0;
+    }
+
+    /**
+     * Estadísticas del cache: hits, misses, evictions, entradas y peso actual
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("entries", entries.size());
+        stats.put("weightBytes", currentWeightBytes);
+        stats.put("maxWeightBytes", maxWeightBytes);
+        return stats;
+    }
+
+    /**
+     * Estima (aprox.) los bytes de heap retenidos por una lista de endpoints
+     * (los ejemplos diferidos sólo cuentan si ya fueron generados)
+     */
+    static long estimateWeight(List<EndpointInfo> endpoints) {
+        return estimateWeight(endpoints, 0);
+    }
+
+    /**
+     * Igual que {@link #estimateWeight(List)} sumando el modelo del contrato si algún ejemplo sigue
+     * diferido (sus generadores retienen el OpenAPI completo)
+     */
+    static long estimateWeight(List<EndpointInfo> endpoints, long contractLength) {
+        long weight = 64;
+        boolean deferred = false;
+        for (EndpointInfo endpoint : endpoints) {
+            deferred |= endpoint.hasDeferredExamples();
+            weight += 64
+                    + sizeOf(endpoint.getPath())
+                    + sizeOf(endpoint.getSummary())
+                    + sizeOf(endpoint.getDescription())
+                    + sizeOf(endpoint.peekRequestBodyJson())
+                    + sizeOf(endpoint.peekResponseJson());
+            weight += sizeOf(endpoint.getRequestBodyExamples()) + sizeOf(endpoint.getResponseExamples());
+            if (endpoint.getParameters() != null) {
+                for (ParameterInfo param : endpoint.getParameters()) {
+                    weight += 48
+                            + sizeOf(param.getName())
+                            + sizeOf(param.getDescription())
+                            + sizeOf(param.getType())
+                            + sizeOf(param.getExample());
+                }
+            }
+        }
+        if (deferred) {
+            weight += contractLength * RETAINED_MODEL_BYTES_PER_CHAR;
+        }
+        return weight;
+    }
+
+    private static long sizeOf(String value) {
+        return value != null ? 40L + value.length() : 0L;
+    }
+
+    private static long sizeOf(List<ContentExampleInfo> examples) {
+        long weight = 0;
+        if (examples != null) {
+            for (ContentExampleInfo example : examples) {
+                // statusCode y mediaType están internados en el diccionario: no se cuentan
+                weight += 48 + sizeOf(example.getDescription()) + sizeOf(example.peekExample());
+            }
+        }
+        return weight;
+    }
+
+    private static long sizeOf(EncodedJson json) {
+        return json != null ? 32L + json.length() : 0L;
+    }
+
+    private record CachedContract(List<EndpointInfo> endpoints, long weightBytes) {
+    }
+}
@@ -0,0 +1,123 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Huella estructural (SHA-256) de elementos de un contrato OpenAPI
+ *
+ * La huella de un PathItem o Schema incluye, además de su propia estructura, la de
+ * todos los componentes que referencia (transitivamente) vía $ref. Así un cambio en
+ * components/schemas invalida sólo los paths que realmente lo usan.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public class OpenApiFingerprinter {
+
+    private static final String COMPONENTS_PREFIX = "#/components";
+
+    private static final ObjectMapper MAPPER = Json.mapper();
+
+    private final JsonNode components;
+
+    // Por componente ($ref): hash de su propia estructura y $refs directos
+    private final Map<String, ComponentInfo> componentInfo = new ConcurrentHashMap<>();
+
+    public OpenApiFingerprinter(OpenAPI openAPI) {
+        this.components = openAPI != null && openAPI.getComponents() != null
+                ? MAPPER.valueToTree(openAPI.getComponents())
+                : MissingNode.getInstance();
+    }
+
+    /**
+     * Calcula la huella de un elemento del modelo (PathItem, Schema, Operation...)
+     *
+     * @return SHA-256 en hexadecimal
+     */
+    public String fingerprint(Object modelElement) {
+        JsonNode node = MAPPER.valueToTree(modelElement);
+        MessageDigest digest = sha256();
+        digest.update(toBytes(node));
+
+        // Cierre transitivo de referencias, en orden estable
+        Set<String> closure = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        collectRefs(node, pending);
+        while (!pending.isEmpty()) {
+            String ref = pending.pop();
+            if (closure.add(ref)) {
+                pending.addAll(component(ref).refs);
+            }
+        }
+
+        for (String ref : closure) {
+            digest.update(ref.getBytes(StandardCharsets.UTF_8));
+            digest.update(component(ref).digest);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ComponentInfo component(String ref) {
+        return componentInfo.computeIfAbsent(ref, key -> {
+            JsonNode node = key.startsWith(COMPONENTS_PREFIX + "/")
+                    ? components.at(key.substring(COMPONENTS_PREFIX.length()))
+                    : MissingNode.getInstance();
+            Deque<String> refs = new ArrayDeque<>();
+            collectRefs(node, refs);
+            return new ComponentInfo(sha256().digest(toBytes(node)), Set.copyOf(refs));
+        });
+    }
+
+    private static void collectRefs(JsonNode node, Deque<String> refs) {
+        if (node.isObject()) {
+            JsonNode ref = node.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                refs.add(ref.asText());
+            }
+            Iterator<JsonNode> children = node.elements();
+            while (children.hasNext()) {
+                collectRefs(children.next(), refs);
+            }
+        } else if (node.isArray()) {
+            for (JsonNode child : node) {
+                collectRefs(child, refs);
+            }
+        }
+    }
+
+    private static byte[] toBytes(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el elemento del contrato", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record ComponentInfo(byte[] digest, Set<String> refs) {
+    }
+}
@@ -1,256 +1,1102 @@
-package org.project.project.service;
-
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.oas.models.media.Content;
-import io.swagger.v3.oas.models.media.MediaType;
-import io.swagger.v3.oas.models.media.Schema;
-import io.swagger.v3.oas.models.parameters.Parameter;
-import io.swagger.v3.oas.models.parameters.RequestBody;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-/**
- * Servicio para parsear contratos OpenAPI y extraer información de endpoints
- * 
- * @author Dev Portal Team
- * @since 2025-12-14
- */
-@Slf4j
-@Service
-public class OpenApiParserService {
-
-    /**
-     * Parsea un contrato OpenAPI (YAML o JSON) y extrae todos los endpoints
-     * 
-     * @param contractYaml Contrato en formato YAML o JSON
-     * @return Lista de endpoints con su metadata
-     */
-    public List<EndpointInfo> parseContract(String contractYaml) {
-        List<EndpointInfo> endpoints = new ArrayList<>();
-        
-        try {
-            // Parsear contrato con Swagger Parser
-            OpenAPI openAPI = new OpenAPIV3Parser().readContents(contractYaml).getOpenAPI();
-            
-            if (openAPI == null || openAPI.getPaths() == null) {
-                log.warn("Contrato OpenAPI vacío o sin paths");
-                return endpoints;
-            }
-            
-            // Iterar sobre cada path
-            for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
-                String path = pathEntry.getKey();
-                PathItem pathItem = pathEntry.getValue();
-                
-                // Extraer endpoints por cada método HTTP
-                extractEndpoint(endpoints, path, "GET", pathItem.getGet());
-                extractEndpoint(endpoints, path, "POST", pathItem.getPost());
-                extractEndpoint(endpoints, path, "PUT", pathItem.getPut());
-                extractEndpoint(endpoints, path, "DELETE", pathItem.getDelete());
-                extractEndpoint(endpoints, path, "PATCH", pathItem.getPatch());
-            }
-            
-            log.info("Se extrajeron {} endpoints del contrato OpenAPI", endpoints.size());
-            
-        } catch (Exception e) {
-            log.error("Error al parsear contrato OpenAPI: {}", e.getMessage(), e);
-        }
-        
-        return endpoints;
-    }
-
-    /**
-     * Extrae información de un endpoint específico
-     * 
-     * IMPORTANTE: Cada combinación método+path genera un EndpointInfo separado
-     */
-    private void extractEndpoint(List<EndpointInfo> endpoints, String path, String method, Operation operation) {
-        if (operation == null) {
-            return; // Este método no existe para este path
-        }
-        
-        EndpointInfo endpoint = new EndpointInfo();
-        endpoint.setMethod(method);
-        endpoint.setPath(path);
-        endpoint.setSummary(operation.getSummary() != null ? operation.getSummary() : "");
-        endpoint.setDescription(operation.getDescription());
-        
-        // Extraer parámetros (query, path, header)
-        List<ParameterInfo> parameters = new ArrayList<>();
-        if (operation.getParameters() != null) {
-            for (Parameter param : operation.getParameters()) {
-                ParameterInfo paramInfo = new ParameterInfo();
-                paramInfo.setName(param.getName());
-                paramInfo.setIn(param.getIn());
-                paramInfo.setRequired(param.getRequired() != null ? param.getRequired() : false);
-                paramInfo.setDescription(param.getDescription());
-                paramInfo.setType(param.getSchema() != null ? param.getSchema().getType() : "string");
-                
-                // Extraer ejemplo si existe
-                if (param.getExample() != null) {
-                    paramInfo.setExample(param.getExample().toString());
-                } else if (param.getSchema() != null && param.getSchema().getExample() != null) {
-                    paramInfo.setExample(param.getSchema().getExample().toString());
-                }
-                
-                parameters.add(paramInfo);
-            }
-        }
-        endpoint.setParameters(parameters);
-        
-        // Extraer Request Body (para POST/PUT/PATCH)
-        if (operation.getRequestBody() != null) {
-            RequestBody requestBody = operation.getRequestBody();
-            Content content = requestBody.getContent();
-            
-            if (content != null && content.get("application/json") != null) {
-                MediaType mediaType = content.get("application/json");
-                Schema schema = mediaType.getSchema();
-                
-                if (schema != null) {
-                    String exampleJson = generateExampleFromSchema(schema);
-                    endpoint.setRequestBodySchema(exampleJson);
-                }
-            }
-        }
-        
-        // Extraer Response Example (primera respuesta exitosa: 200, 201, etc.)
-        if (operation.getResponses() != null) {
-            for (String responseCode : new String[]{"200", "201", "202", "204"}) {
-                if (operation.getResponses().get(responseCode) != null) {
-                    var response = operation.getResponses().get(responseCode);
-                    if (response.getContent() != null && response.getContent().get("application/json") != null) {
-                        MediaType mediaType = response.getContent().get("application/json");
-                        Schema schema = mediaType.getSchema();
-                        
-                        if (schema != null) {
-                            String exampleJson = generateExampleFromSchema(schema);
-                            endpoint.setResponseExample(exampleJson);
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        
-        endpoints.add(endpoint);
-        log.debug("Endpoint extraído: {} {}", method, path);
-    }
-
-    /**
-     * Genera un ejemplo JSON a partir de un schema OpenAPI
-     * 
-     * @param schema Schema de OpenAPI
-     * @return JSON de ejemplo como String
-     */
-    private String generateExampleFromSchema(Schema schema) {
-        if (schema == null) {
-            return "{}";
-        }
-        
-        // Si ya tiene un ejemplo definido, usarlo
-        if (schema.getExample() != null) {
-            return formatJson(schema.getExample());
-        }
-        
-        // Generar ejemplo basado en propiedades
-        Map<String, Schema> properties = schema.getProperties();
-        if (properties == null || properties.isEmpty()) {
-            return "{}";
-        }
-        
-        StringBuilder json = new StringBuilder("{\n");
-        int count = 0;
-        
-        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
-            String propertyName = entry.getKey();
-            Schema propertySchema = entry.getValue();
-            
-            if (count > 0) {
-                json.append(",\n");
-            }
-            
-            json.append("  \"").append(propertyName).append("\" : ");
-            
-            // Usar ejemplo si existe
-            if (propertySchema.getExample() != null) {
-                Object example = propertySchema.getExample();
-                if (example instanceof String) {
-                    json.append("\"").append(example).append("\"");
-                } else {
-                    json.append(example);
-                }
-            } else {
-                // Generar valor por tipo
-                String type = propertySchema.getType();
-                switch (type != null ? type : "string") {
-                    case "integer":
-                    case "number":
-                        json.append("0");
-                        break;
-                    case "boolean":
-                        json.append("false");
-                        break;
-                    case "array":
-                        json.append("[]");
-                        break;
-                    case "object":
-                        json.append("{}");
-                        break;
-                    default:
-                        json.append("\"\"");
-                }
-            }
-            
-            count++;
-        }
-        
-        json.append("\n}");
-        return json.toString();
-    }
-
-    /**
-     * Formatea un objeto a JSON legible
-     */
-    private String formatJson(Object obj) {
-        if (obj instanceof String) {
-            return "\"" + obj + "\"";
-        }
-        return obj.toString();
-    }
-
-    /**
-     * Información de un endpoint extraído del contrato OpenAPI
-     */
-    @Data
-    public static class EndpointInfo {
-        private String method;           // GET, POST, PUT, DELETE, PATCH
-        private String path;              // /api/calculate, /health
-        private String summary;           // Descripción corta
-        private String description;       // Descripción detallada
-        private List<ParameterInfo> parameters;  // Query params, path params, headers
-        private String requestBodySchema; // JSON example del body (POST/PUT/PATCH)
-        private String responseExample;   // JSON example de la respuesta exitosa
-    }
-
-    /**
-     * Información de un parámetro (query, path, header)
-     */
-    @Data
-    public static class ParameterInfo {
-        private String name;
-        private String in;          // query, path, header
-        private boolean required;
-        private String description;
-        private String type;        // string, integer, boolean, etc.
-        private String example;
-    }
-}
+package org.project.project.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Servicio para parsear contratos OpenAPI y extraer información de endpoints
+ * 
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Service
+public class OpenApiParserService {
+
+    @Autowired
+    private OpenApiContractCache contractCache;
+
+    @Autowired
+    private SharedExampleCache sharedExampleCache;
+
+    /**
+     * Hilos para la extracción paralela de paths (0 = extracción secuencial)
+     */
+    @Value("${openapi.parser.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Número mínimo de paths para usar el modo paralelo
+     */
+    @Value("${openapi.parser.parallel-threshold:64}")
+    private int parallelThreshold;
+
+    /**
+     * Profundidad máxima y número máximo de nodos de cada ejemplo generado
+     */
+    @Value("${openapi.parser.example.max-depth:32}")
+    private int exampleMaxDepth;
+
+    @Value("${openapi.parser.example.max-nodes:10000}")
+    private int exampleMaxNodes;
+
+    /**
+     * Generar los ejemplos de request/response al primer acceso en lugar de al parsear
+     */
+    @Value("${openapi.parser.lazy-examples:true}")
+    private boolean lazyExamples;
+
+    /**
+     * Límites para contratos patológicos (los que los superan se rechazan)
+     */
+    @Value("${openapi.parser.limits.max-contract-bytes:10485760}")
+    private long maxContractBytes;
+
+    @Value("${openapi.parser.limits.max-paths:20000}")
+    private int maxPaths;
+
+    @Value("${openapi.parser.limits.max-example-bytes:1048576}")
+    private int maxExampleBytes;
+
+    @Value("${openapi.parser.limits.max-parse-ms:30000}")
+    private long maxParseMillis;
+
+    /**
+     * Tiempo máximo para generar cada ejemplo diferido (el límite de nodos es el de siempre)
+     */
+    @Value("${openapi.parser.limits.max-lazy-example-ms:5000}")
+    private long maxLazyExampleMillis = 5000;
+
+    /**
+     * Versiones cuyo último contrato se conserva para el parseo incremental (las menos usadas se descartan)
+     */
+    @Value("${openapi.parser.incremental.max-versions:500}")
+    private int maxIncrementalVersions = 500;
+
+    private ForkJoinPool extractionPool;
+
+    private ParserLimits limits = ParserLimits.defaults();
+
+    // Contratos rechazados por motivo
+    private final Map<ContractRejectedException.Reason, AtomicLong> rejections =
+            new EnumMap<>(ContractRejectedException.Reason.class);
+
+    /**
+     * Nombres y tipos de parámetros canónicos, compartidos por todos los contratos parseados
+     */
+    private final StringDictionary dictionary = new StringDictionary(100_000);
+
+    /**
+     * Generadores de ejemplos por media type (JSON, XML, formularios, NDJSON, binario...);
+     * fuera de Spring se usan los incluidos
+     */
+    @Autowired(required = false)
+    private MediaTypeExampleRegistry mediaTypes = MediaTypeExampleRegistry.defaults();
+
+    // Último contrato parseado en modo incremental, por versión (accessOrder = true: LRU)
+    private final LinkedHashMap<Long, Map<String, ParsedPath>> incrementalSnapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+    public OpenApiParserService() {
+        for (ContractRejectedException.Reason reason : ContractRejectedException.Reason.values()) {
+            rejections.put(reason, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    void initExtractionPool() {
+        limits = new ParserLimits(maxContractBytes, maxPaths, exampleMaxDepth, exampleMaxNodes,
+                maxExampleBytes, maxParseMillis);
+        if (parallelism > 0) {
+            extractionPool = new ForkJoinPool(parallelism);
+            log.info("Extracción paralela de contratos OpenAPI habilitada ({} hilos)", parallelism);
+        }
+    }
+
+    @PreDestroy
+    void shutdownExtractionPool() {
+        if (extractionPool != null) {
+            extractionPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parsea un contrato OpenAPI (YAML o JSON) y extrae todos los endpoints
+     * 
+     * Si el mismo contrato (mismo SHA-256) ya fue parseado, se devuelve el resultado cacheado.
+     * Los EndpointInfo devueltos pueden estar compartidos con el cache: no modificarlos.
+     * Un contrato inválido o rechazado por los límites de recursos devuelve una lista vacía.
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @return Lista de endpoints con su metadata
+     */
+    public List<EndpointInfo> parseContract(String contractYaml) {
+        try {
+            return parseContract(contractYaml, ParseProgress.NONE);
+        } catch (ContractRejectedException e) {
+            return new ArrayList<>();
+        } catch (IllegalArgumentException e) {
+            log.warn(e.getMessage());
+            return new ArrayList<>();
+        } catch (Exception e) {
+            log.error("Error al parsear contrato OpenAPI: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Igual que {@link #parseContract(String)} pero informando el avance (paths procesados / total)
+     * y propagando los errores de parseo en lugar de devolver una lista vacía.
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @param progress Listener de avance; en modo paralelo se invoca desde varios hilos
+     * @return Lista de endpoints con su metadata
+     * @throws ContractRejectedException si el contrato supera alguno de los límites de recursos
+     * @throws IllegalArgumentException si el documento no es un contrato OpenAPI válido
+     */
+    public List<EndpointInfo> parseContract(String contractYaml, ParseProgress progress) {
+        return parseContract(contractYaml, progress, newGuard());
+    }
+
+    /**
+     * Igual que {@link #parseContract(String, ParseProgress)} con un ParseGuard propio, para que
+     * el llamador pueda cancelar el parseo (p.ej. al vencer su propio timeout)
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @param progress Listener de avance; en modo paralelo se invoca desde varios hilos
+     * @param guard Tiempo máximo y cancelación del parseo
+     * @return Lista de endpoints con su metadata
+     * @throws ContractRejectedException si el contrato supera algún límite o el parseo se cancela
+     * @throws IllegalArgumentException si el documento no es un contrato OpenAPI válido
+     */
+    public List<EndpointInfo> parseContract(String contractYaml, ParseProgress progress, ParseGuard guard) {
+        try {
+            return doParseContract(contractYaml, progress, guard);
+        } catch (ContractRejectedException e) {
+            throw rejected(e);
+        }
+    }
+
+    private List<EndpointInfo> doParseContract(String contractYaml, ParseProgress progress, ParseGuard guard) {
+        checkContractSize(contractYaml);
+        String contractHash = OpenApiContractCache.hash(contractYaml);
+        List<EndpointInfo> cached = contractCache.get(contractHash);
+        if (cached != null) {
+            log.debug("Contrato OpenAPI {} servido desde cache ({} endpoints)", contractHash, cached.size());
+            progress.onProgress(1, 1);
+            return new ArrayList<>(cached);
+        }
+        
+        List<EndpointInfo> endpoints = new ArrayList<>();
+        
+        // Parsear contrato con Swagger Parser
+        OpenAPI openAPI = readOpenApi(contractYaml, guard);
+        
+        if (openAPI.getPaths() == null) {
+            log.warn("Contrato OpenAPI sin paths");
+            contractCache.put(contractHash, endpoints);
+            progress.onProgress(0, 0);
+            return endpoints;
+        }
+        
+        List<Map.Entry<String, PathItem>> pathEntries = new ArrayList<>(openAPI.getPaths().entrySet());
+        SchemaExampleGenerator examples = newExampleGenerator(openAPI, guard);
+        int totalPaths = pathEntries.size();
+        progress.onProgress(0, totalPaths);
+        
+        if (extractionPool != null && totalPaths >= parallelThreshold) {
+            // Modo paralelo: mismo orden que el secuencial
+            endpoints = extractPathsParallel(pathEntries, examples, progress, guard);
+        } else {
+            // Iterar sobre cada path
+            int processed = 0;
+            for (Map.Entry<String, PathItem> pathEntry : pathEntries) {
+                guard.checkpoint();
+                endpoints.addAll(extractPath(pathEntry.getKey(), pathEntry.getValue(), examples));
+                progress.onProgress(++processed, totalPaths);
+            }
+        }
+        
+        log.info("Se extrajeron {} endpoints del contrato OpenAPI", endpoints.size());
+        contractCache.put(contractHash, endpoints, contractYaml.length());
+        return endpoints;
+    }
+
+    /**
+     * Variante streaming de {@link #parseContract(String)}
+     * 
+     * El documento se parsea completo (Swagger Parser no es incremental), pero los endpoints
+     * se extraen path por path a medida que se consume el Stream: el consumidor puede
+     * renderizar/persistir los primeros mientras el resto aún no se ha generado.
+     * Si el contrato ya está en cache se recorre la lista cacheada.
+     * 
+     * El tiempo máximo de parseo sólo cuenta el trabajo del parser: el reloj se pausa mientras
+     * el consumidor procesa cada endpoint (p.ej. al persistirlo), así que un consumidor lento no
+     * provoca PARSE_TIMEOUT. Un ejemplo que supera los límites aborta el recorrido con
+     * {@link ContractRejectedException}.
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @return Stream perezoso de endpoints (vacío si el contrato es inválido o se rechaza al leerlo)
+     */
+    public Stream<EndpointInfo> streamContract(String contractYaml) {
+        OpenAPI openAPI;
+        ParseGuard guard = newGuard();
+        try {
+            checkContractSize(contractYaml);
+            List<EndpointInfo> cached = contractCache.get(OpenApiContractCache.hash(contractYaml));
+            if (cached != null) {
+                return cached.stream();
+            }
+            openAPI = readOpenApi(contractYaml, guard);
+        } catch (ContractRejectedException e) {
+            rejected(e);
+            return Stream.empty();
+        } catch (IllegalArgumentException e) {
+            log.warn(e.getMessage());
+            return Stream.empty();
+        } catch (Exception e) {
+            log.error("Error al parsear contrato OpenAPI: {}", e.getMessage(), e);
+            return Stream.empty();
+        }
+        
+        if (openAPI.getPaths() == null) {
+            log.warn("Contrato OpenAPI sin paths");
+            return Stream.empty();
+        }
+        
+        SchemaExampleGenerator examples = newExampleGenerator(openAPI, guard);
+        // Hasta que el consumidor pida el primer endpoint el control es suyo
+        guard.pause();
+        return openAPI.getPaths().entrySet().stream()
+                .flatMap(pathEntry -> {
+                    guard.resume();
+                    try {
+                        guard.checkpoint();
+                        return extractPath(pathEntry.getKey(), pathEntry.getValue(), examples).stream();
+                    } catch (ContractRejectedException e) {
+                        throw rejected(e);
+                    } finally {
+                        guard.pause();
+                    }
+                });
+    }
+
+    /**
+     * Recorre los endpoints de un contrato entregándolos uno a uno al consumidor
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @param consumer Callback invocado por cada endpoint, en el orden del contrato
+     */
+    public void forEachEndpoint(String contractYaml, Consumer<EndpointInfo> consumer) {
+        try (Stream<EndpointInfo> endpoints = streamContract(contractYaml)) {
+            endpoints.forEach(consumer);
+        }
+    }
+
+    /**
+     * Parseo incremental: sólo se re-extraen los paths nuevos o modificados respecto al
+     * último contrato parseado para la misma versión; el resto reutiliza sus EndpointInfo.
+     * EndpointCatalogStore lo usa cuando cambia el contrato de una versión.
+     * 
+     * La huella de cada path incluye los componentes que referencia, por lo que un cambio
+     * en components/schemas re-extrae sólo los paths que lo usan. Un endpoint cuenta como
+     * modificado si cambió la huella de su operación, sin comparar (ni generar) sus ejemplos.
+     * Se conserva el estado de las últimas openapi.parser.incremental.max-versions versiones usadas.
+     * 
+     * @param versionId Versión a la que pertenece el contrato (clave del estado incremental)
+     * @param contractYaml Nueva versión del contrato en formato YAML o JSON
+     * @return Endpoints completos y diferencias (agregados, eliminados, modificados)
+     * @throws ContractRejectedException si el contrato supera alguno de los límites de recursos
+     * @throws IllegalArgumentException si el documento no es un contrato OpenAPI válido
+     */
+    public ContractDiff parseContractIncremental(Long versionId, String contractYaml) {
+        try {
+            return doParseContractIncremental(versionId, contractYaml, newGuard());
+        } catch (ContractRejectedException e) {
+            throw rejected(e);
+        }
+    }
+
+    private ContractDiff doParseContractIncremental(Long versionId, String contractYaml, ParseGuard guard) {
+        ContractDiff diff = new ContractDiff();
+        
+        checkContractSize(contractYaml);
+        OpenAPI openAPI = readOpenApi(contractYaml, guard);
+        Map<String, ParsedPath> previous = incrementalSnapshot(versionId);
+        if (openAPI.getPaths() == null) {
+            log.warn("Contrato OpenAPI sin paths (versión {})", versionId);
+            previous.values().forEach(parsed -> diff.removed.addAll(parsed.endpoints));
+            storeIncrementalSnapshot(versionId, Map.of());
+            return diff;
+        }
+        
+        Map<String, ParsedPath> current = new LinkedHashMap<>();
+        OpenApiFingerprinter fingerprinter = new OpenApiFingerprinter(openAPI);
+        SchemaExampleGenerator examples = newExampleGenerator(openAPI, guard);
+        
+        for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
+            guard.checkpoint();
+            String path = pathEntry.getKey();
+            String fingerprint = fingerprinter.fingerprint(pathEntry.getValue());
+            ParsedPath before = previous.get(path);
+            
+            if (before != null && before.fingerprint.equals(fingerprint)) {
+                current.put(path, before);
+                diff.reusedPaths++;
+                continue;
+            }
+            
+            List<EndpointInfo> extracted = extractPath(path, pathEntry.getValue(), examples);
+            // El estado incremental vive hasta el próximo contrato: sin ejemplos diferidos no retiene el modelo
+            for (EndpointInfo endpoint : extracted) {
+                guard.checkpoint();
+                endpoint.materializeExamples();
+            }
+            Map<OperationMethod, String> operationFingerprints = operationFingerprints(fingerprinter, pathEntry.getValue());
+            current.put(path, new ParsedPath(fingerprint, operationFingerprints, extracted));
+            diff.reprocessedPaths++;
+            
+            // Modificado = cambió la huella de la operación (o de los parámetros comunes del path)
+            Map<OperationMethod, EndpointInfo> oldByMethod = new EnumMap<>(OperationMethod.class);
+            if (before != null) {
+                before.endpoints.forEach(endpoint -> oldByMethod.put(endpoint.getMethod(), endpoint));
+            }
+            for (EndpointInfo endpoint : extracted) {
+                EndpointInfo old = oldByMethod.remove(endpoint.getMethod());
+                if (old == null) {
+                    diff.added.add(endpoint);
+                } else if (!Objects.equals(before.operationFingerprints.get(endpoint.getMethod()),
+                        operationFingerprints.get(endpoint.getMethod()))) {
+                    diff.changed.add(endpoint);
+                }
+            }
+            diff.removed.addAll(oldByMethod.values());
+        }
+        
+        // Paths que ya no existen en el contrato
+        previous.forEach((path, parsed) -> {
+            if (!current.containsKey(path)) {
+                diff.removed.addAll(parsed.endpoints);
+            }
+        });
+        
+        current.values().forEach(parsed -> diff.endpoints.addAll(parsed.endpoints));
+        storeIncrementalSnapshot(versionId, current);
+        
+        log.info("Parseo incremental versión {}: {} paths reutilizados, {} reprocesados (+{} -{} ~{} endpoints)",
+                versionId, diff.reusedPaths, diff.reprocessedPaths,
+                diff.added.size(), diff.removed.size(), diff.changed.size());
+        return diff;
+    }
+
+    /**
+     * Descarta el estado incremental de una versión (al eliminarla)
+     */
+    public synchronized void forgetIncrementalState(Long versionId) {
+        incrementalSnapshots.remove(versionId);
+    }
+
+    private synchronized Map<String, ParsedPath> incrementalSnapshot(Long versionId) {
+        return incrementalSnapshots.getOrDefault(versionId, Map.of());
+    }
+
+    private synchronized void storeIncrementalSnapshot(Long versionId, Map<String, ParsedPath> snapshot) {
+        incrementalSnapshots.put(versionId, snapshot);
+        Iterator<Long> eldest = incrementalSnapshots.keySet().iterator();
+        while (incrementalSnapshots.size() > maxIncrementalVersions && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Huella de cada operación del path, incluyendo los parámetros comunes del PathItem
+     */
+    private static Map<OperationMethod, String> operationFingerprints(OpenApiFingerprinter fingerprinter,
+                                                                      PathItem pathItem) {
+        Map<OperationMethod, String> fingerprints = new EnumMap<>(OperationMethod.class);
+        List<Parameter> pathParameters = pathItem.getParameters() != null ? pathItem.getParameters() : List.of();
+        pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
+            OperationMethod method = OperationMethod.fromValue(httpMethod.name());
+            if (method != null) {
+                fingerprints.put(method, fingerprinter.fingerprint(List.of(pathParameters, operation)));
+            }
+        });
+        return fingerprints;
+    }
+
+    /**
+     * Compila validadores de peticiones para todas las operaciones de un contrato
+     * 
+     * @param contractYaml Contrato en formato YAML o JSON
+     * @return Validador por operación, con clave "METHOD path" (ver {@link #operationKey})
+     * @throws ContractRejectedException si el contrato supera alguno de los límites de recursos
+     * @throws IllegalArgumentException si el documento no es un contrato OpenAPI válido
+     */
+    public Map<String, CompiledRequestValidator> compileValidators(String contractYaml) {
+        Map<String, CompiledRequestValidator> validators = new LinkedHashMap<>();
+        OpenAPI openAPI;
+        try {
+            checkContractSize(contractYaml);
+            openAPI = readOpenApi(contractYaml, newGuard());
+        } catch (ContractRejectedException e) {
+            throw rejected(e);
+        }
+        if (openAPI.getPaths() == null) {
+            log.warn("Contrato OpenAPI sin paths");
+            return validators;
+        }
+        
+        openAPI.getPaths().forEach((path, pathItem) -> pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
+            OperationMethod method = OperationMethod.fromValue(httpMethod.name());
+            if (method != null) {
+                validators.put(operationKey(method, path), CompiledRequestValidator.compile(openAPI, operation, limits));
+            }
+        }));
+        
+        log.info("Se compilaron {} validadores de peticiones", validators.size());
+        return validators;
+    }
+
+    /**
+     * Clave de una operación: "GET /users/{id}"
+     */
+    public static String operationKey(OperationMethod method, String path) {
+        return method.name() + " " + path;
+    }
+
+    /**
+     * Diccionario de nombres/tipos de parámetros (para reutilizarlo al decodificar catálogos)
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Estadísticas del cache de contratos (hits, misses, evictions)
+     */
+    public Map<String, Object> getCacheStats() {
+        return contractCache.getStats();
+    }
+
+    /**
+     * Estadísticas del cache compartido de ejemplos (hit rate entre contratos)
+     */
+    public Map<String, Object> getExampleCacheStats() {
+        return sharedExampleCache.getStats();
+    }
+
+    /**
+     * Contratos rechazados por los límites de recursos, por motivo
+     */
+    public Map<String, Object> getRejectionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<ContractRejectedException.Reason, AtomicLong> entry : rejections.entrySet()) {
+            long count = entry.getValue().get();
+            stats.put(entry.getKey().name(), count);
+            total += count;
+        }
+        stats.put("total", total);
+        return stats;
+    }
+
+    /**
+     * Límites de recursos configurados
+     */
+    public ParserLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Nuevo ParseGuard con el tiempo máximo de parseo configurado
+     */
+    public ParseGuard newGuard() {
+        return new ParseGuard(limits.maxParseMillis());
+    }
+
+    /**
+     * Registra el rechazo en las métricas y lo devuelve para relanzarlo
+     */
+    private ContractRejectedException rejected(ContractRejectedException e) {
+        rejections.get(e.getReason()).incrementAndGet();
+        log.warn("Contrato OpenAPI rechazado ({}): {}", e.getReason(), e.getMessage());
+        return e;
+    }
+
+    /**
+     * Rechaza el contrato si supera el tamaño máximo; se revisa antes de calcular el hash o parsearlo
+     */
+    private void checkContractSize(String contractYaml) {
+        if (exceedsUtf8Length(contractYaml, limits.maxContractBytes())) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.CONTRACT_TOO_LARGE,
+                    "Contrato de más de " + limits.maxContractBytes() + " bytes");
+        }
+    }
+
+    /**
+     * Indica si el texto ocupa más de {@code limit} bytes en UTF-8, sin codificarlo
+     */
+    private static boolean exceedsUtf8Length(String text, long limit) {
+        if (text == null || (long) text.length() * 3 <= limit) {
+            return false; // Ni con 3 bytes por carácter llega al límite
+        }
+        long bytes = 0;
+        for (int i = 0; i < text.length() && bytes <= limit; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                bytes += 2; // Un par sustituto ocupa 4 bytes
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes > limit;
+    }
+
+    /**
+     * Parsea el documento y rechaza los contratos con demasiados paths
+     *
+     * @return Modelo del contrato (nunca null; puede no tener paths)
+     * @throws IllegalArgumentException si el documento no es OpenAPI, con los mensajes de Swagger Parser
+     */
+    private OpenAPI readOpenApi(String contractYaml, ParseGuard guard) {
+        SwaggerParseResult result = new OpenAPIV3Parser().readContents(contractYaml);
+        // Swagger Parser no es interrumpible: el plazo se comprueba al terminar
+        guard.checkpoint();
+        OpenAPI openAPI = result.getOpenAPI();
+        if (openAPI == null) {
+            List<String> messages = result.getMessages();
+            throw new IllegalArgumentException("Contrato OpenAPI inválido: "
+                    + (messages == null || messages.isEmpty() ? "documento vacío o ilegible" : String.join("; ", messages)));
+        }
+        if (openAPI.getPaths() != null && openAPI.getPaths().size() > limits.maxPaths()) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.TOO_MANY_PATHS,
+                    "Contrato con " + openAPI.getPaths().size() + " paths (máximo " + limits.maxPaths() + ")");
+        }
+        return openAPI;
+    }
+
+    /**
+     * Crea el generador de ejemplos del contrato (memoiza los components/schemas y los
+     * comparte con otros contratos a través de SharedExampleCache)
+     * 
+     * Con ejemplos diferidos la generación ocurre después del parseo, así que no se le
+     * aplica el ParseGuard del contrato: cada ejemplo diferido usa el suyo (ver {@link #example}).
+     */
+    private SchemaExampleGenerator newExampleGenerator(OpenAPI openAPI, ParseGuard guard) {
+        return new SchemaExampleGenerator(openAPI, limits, lazyExamples ? null : guard,
+                sharedExampleCache.isEnabled() ? sharedExampleCache : null);
+    }
+
+    /**
+     * Ejemplo de un schema para un media type (generador elegido por el registro): inmediato,
+     * o diferido hasta el primer acceso si lazy-examples está activo
+     * 
+     * Un ejemplo diferido se genera con su propio ParseGuard de max-lazy-example-ms, creado al
+     * materializarlo, además del límite de nodos por ejemplo. Si supera los límites no rechaza el
+     * contrato (ya fue aceptado): se registra el rechazo y el endpoint queda sin ejemplo.
+     */
+    private LazyExample example(SchemaExampleGenerator examples, Schema schema, String mediaType) {
+        MediaTypeExampleGenerator generator = mediaTypes.resolve(mediaType);
+        String normalized = MediaTypeExampleRegistry.normalize(mediaType);
+        if (!lazyExamples) {
+            return LazyExample.of(generator.generate(examples, schema, normalized));
+        }
+        return LazyExample.deferred(() -> {
+            try {
+                return generator.generate(examples.withGuard(new ParseGuard(maxLazyExampleMillis)), schema, normalized);
+            } catch (ContractRejectedException e) {
+                rejected(e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Extrae los paths en el ForkJoinPool dedicado conservando el orden del contrato
+     */
+    private List<EndpointInfo> extractPathsParallel(List<Map.Entry<String, PathItem>> pathEntries,
+                                                    SchemaExampleGenerator examples, ParseProgress progress,
+                                                    ParseGuard guard) {
+        AtomicInteger processed = new AtomicInteger();
+        AtomicReference<ContractRejectedException> firstRejection = new AtomicReference<>();
+        int totalPaths = pathEntries.size();
+        try {
+            return extractionPool.submit(() -> pathEntries.parallelStream()
+                    .flatMap(pathEntry -> {
+                        List<EndpointInfo> extracted;
+                        try {
+                            guard.checkpoint();
+                            extracted = extractPath(pathEntry.getKey(), pathEntry.getValue(), examples);
+                        } catch (ContractRejectedException e) {
+                            // Detiene al resto de hilos en su siguiente checkpoint (conservando el motivo real)
+                            firstRejection.compareAndSet(null, e);
+                            guard.cancel();
+                            throw e;
+                        }
+                        progress.onProgress(processed.incrementAndGet(), totalPaths);
+                        return extracted.stream();
+                    })
+                    .collect(Collectors.toCollection(ArrayList::new)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Extracción de endpoints interrumpida", e);
+        } catch (ExecutionException e) {
+            if (firstRejection.get() != null) {
+                throw firstRejection.get();
+            }
+            throw new IllegalStateException("Error en la extracción paralela de endpoints", e.getCause());
+        }
+    }
+
+    /**
+     * Extrae los endpoints (uno por método HTTP) de un path del contrato
+     */
+    private List<EndpointInfo> extractPath(String path, PathItem pathItem, SchemaExampleGenerator examples) {
+        List<EndpointInfo> endpoints = new ArrayList<>(5);
+        
+        // Extraer endpoints por cada método HTTP
+        extractEndpoint(endpoints, path, OperationMethod.GET, pathItem.getGet(), examples);
+        extractEndpoint(endpoints, path, OperationMethod.POST, pathItem.getPost(), examples);
+        extractEndpoint(endpoints, path, OperationMethod.PUT, pathItem.getPut(), examples);
+        extractEndpoint(endpoints, path, OperationMethod.DELETE, pathItem.getDelete(), examples);
+        extractEndpoint(endpoints, path, OperationMethod.PATCH, pathItem.getPatch(), examples);
+        
+        return endpoints;
+    }
+
+    /**
+     * Extrae información de un endpoint específico
+     * 
+     * IMPORTANTE: Cada combinación método+path genera un EndpointInfo separado
+     */
+    private void extractEndpoint(List<EndpointInfo> endpoints, String path, OperationMethod method, Operation operation,
+                                 SchemaExampleGenerator examples) {
+        if (operation == null) {
+            return; // Este método no existe para este path
+        }
+        
+        EndpointInfo endpoint = new EndpointInfo();
+        endpoint.setMethod(method);
+        endpoint.setPath(path);
+        endpoint.setSummary(operation.getSummary() != null ? operation.getSummary() : "");
+        endpoint.setDescription(operation.getDescription());
+        
+        // Extraer parámetros (query, path, header)
+        List<ParameterInfo> parameters = new ArrayList<>();
+        if (operation.getParameters() != null) {
+            for (Parameter param : operation.getParameters()) {
+                ParameterInfo paramInfo = new ParameterInfo();
+                paramInfo.setName(dictionary.intern(param.getName()));
+                paramInfo.setIn(ParameterLocation.fromValue(param.getIn()));
+                paramInfo.setRequired(param.getRequired() != null ? param.getRequired() : false);
+                paramInfo.setDescription(param.getDescription());
+                paramInfo.setType(dictionary.intern(param.getSchema() != null ? param.getSchema().getType() : "string"));
+                
+                // Extraer ejemplo si existe
+                if (param.getExample() != null) {
+                    paramInfo.setExample(param.getExample().toString());
+                } else if (param.getSchema() != null && param.getSchema().getExample() != null) {
+                    paramInfo.setExample(param.getSchema().getExample().toString());
+                }
+                
+                parameters.add(paramInfo);
+            }
+        }
+        endpoint.setParameters(parameters);
+        
+        // Extraer Request Body (para POST/PUT/PATCH), un ejemplo por media type
+        if (operation.getRequestBody() != null) {
+            RequestBody requestBody = operation.getRequestBody();
+            List<ContentExampleInfo> requestExamples = new ArrayList<>();
+            extractContent(requestExamples, null, requestBody.getDescription(), requestBody.getContent(), examples);
+            endpoint.setRequestBodyExamples(requestExamples);
+            for (ContentExampleInfo info : requestExamples) {
+                if (mediaTypes.isJson(info.getMediaType())) {
+                    endpoint.setLazyRequestBodyJson(info.getLazyExample());
+                    break;
+                }
+            }
+        }
+        
+        // Extraer ejemplos de todas las respuestas declaradas en una sola pasada; el JSON de la
+        // respuesta exitosa preferida (200, 201, 202, 204, otro 2xx) queda como responseJson
+        if (operation.getResponses() != null) {
+            List<ContentExampleInfo> responseExamples = new ArrayList<>();
+            int bestRank = Integer.MAX_VALUE;
+            for (Map.Entry<String, ApiResponse> entry : operation.getResponses().entrySet()) {
+                ApiResponse response = entry.getValue();
+                if (response == null) {
+                    continue;
+                }
+                int first = responseExamples.size();
+                extractContent(responseExamples, entry.getKey(), response.getDescription(), response.getContent(), examples);
+                int rank = successRank(entry.getKey());
+                for (int i = first; i < responseExamples.size() && rank < bestRank; i++) {
+                    ContentExampleInfo info = responseExamples.get(i);
+                    if (info.getLazyExample() != null && mediaTypes.isJson(info.getMediaType())) {
+                        endpoint.setLazyResponseJson(info.getLazyExample());
+                        bestRank = rank;
+                    }
+                }
+            }
+            endpoint.setResponseExamples(responseExamples);
+        }
+        
+        endpoints.add(endpoint);
+        log.debug("Endpoint extraído: {} {}", method, path);
+    }
+
+    /**
+     * Añade un ejemplo por media type del contenido; una respuesta sin contenido (p. ej. 204)
+     * se registra igualmente, sin media type ni ejemplo
+     */
+    private void extractContent(List<ContentExampleInfo> target, String statusCode, String description,
+                                Content content, SchemaExampleGenerator examples) {
+        if (content == null || content.isEmpty()) {
+            if (statusCode != null) {
+                target.add(new ContentExampleInfo(dictionary.intern(statusCode), null, description, null));
+            }
+            return;
+        }
+        for (Map.Entry<String, MediaType> entry : content.entrySet()) {
+            Schema schema = entry.getValue() != null ? entry.getValue().getSchema() : null;
+            LazyExample example = schema != null ? example(examples, schema, entry.getKey()) : null;
+            target.add(new ContentExampleInfo(dictionary.intern(statusCode), dictionary.intern(entry.getKey()),
+                    description, example));
+        }
+    }
+
+    /**
+     * Prioridad de un código como "respuesta exitosa" (menor es mejor); los no-2xx no califican
+     */
+    private static int successRank(String statusCode) {
+        return switch (statusCode) {
+            case "200" -> 0;
+            case "201" -> 1;
+            case "202" -> 2;
+            case "204" -> 3;
+            default -> statusCode.startsWith("2") ? 4 : Integer.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Información de un endpoint extraído del contrato OpenAPI
+     * 
+     * Los ejemplos pueden estar diferidos: se generan al primer getRequestBodyJson()/getResponseJson()
+     * (o equals/hashCode), de modo que los listados que sólo usan método, path y summary no los pagan.
+     */
+    @Data
+    public static class EndpointInfo {
+        private OperationMethod method;  // GET, POST, PUT, DELETE, PATCH
+        private String path;              // /api/calculate, /health
+        private String summary;           // Descripción corta
+        private String description;       // Descripción detallada
+        private List<ParameterInfo> parameters;  // Query params, path params, headers
+        @JsonIgnore
+        @ToString.Exclude
+        private LazyExample requestBodyJson; // JSON example del body (POST/PUT/PATCH), UTF-8
+        @JsonIgnore
+        @ToString.Exclude
+        private LazyExample responseJson;    // JSON example de la respuesta exitosa, UTF-8
+        private List<ContentExampleInfo> requestBodyExamples;  // Un ejemplo por media type del body
+        private List<ContentExampleInfo> responseExamples;     // Por código de respuesta y media type
+
+        /**
+         * JSON example del body (se genera aquí si estaba diferido)
+         */
+        public EncodedJson getRequestBodyJson() {
+            return requestBodyJson != null ? requestBodyJson.get() : null;
+        }
+
+        public void setRequestBodyJson(EncodedJson requestBodyJson) {
+            this.requestBodyJson = requestBodyJson != null ? LazyExample.of(requestBodyJson) : null;
+        }
+
+        @JsonIgnore
+        public void setLazyRequestBodyJson(LazyExample requestBodyJson) {
+            this.requestBodyJson = requestBodyJson;
+        }
+
+        /**
+         * JSON example del body sólo si ya fue generado
+         */
+        public EncodedJson peekRequestBodyJson() {
+            return requestBodyJson != null ? requestBodyJson.peek() : null;
+        }
+
+        /**
+         * JSON example de la respuesta (se genera aquí si estaba diferido)
+         */
+        public EncodedJson getResponseJson() {
+            return responseJson != null ? responseJson.get() : null;
+        }
+
+        public void setResponseJson(EncodedJson responseJson) {
+            this.responseJson = responseJson != null ? LazyExample.of(responseJson) : null;
+        }
+
+        @JsonIgnore
+        public void setLazyResponseJson(LazyExample responseJson) {
+            this.responseJson = responseJson;
+        }
+
+        /**
+         * JSON example de la respuesta sólo si ya fue generado
+         */
+        public EncodedJson peekResponseJson() {
+            return responseJson != null ? responseJson.peek() : null;
+        }
+
+        /**
+         * true si algún ejemplo (del endpoint o por media type) aún no fue generado
+         */
+        public boolean hasDeferredExamples() {
+            return (requestBodyJson != null && !requestBodyJson.isMaterialized())
+                    || (responseJson != null && !responseJson.isMaterialized())
+                    || hasDeferred(requestBodyExamples)
+                    || hasDeferred(responseExamples);
+        }
+
+        /**
+         * Genera los ejemplos diferidos; después el endpoint ya no retiene el modelo del contrato
+         */
+        public void materializeExamples() {
+            getRequestBodyJson();
+            getResponseJson();
+            materialize(requestBodyExamples);
+            materialize(responseExamples);
+        }
+
+        private static void materialize(List<ContentExampleInfo> examples) {
+            if (examples != null) {
+                examples.forEach(ContentExampleInfo::getExample);
+            }
+        }
+
+        private static boolean hasDeferred(List<ContentExampleInfo> examples) {
+            if (examples == null) {
+                return false;
+            }
+            for (ContentExampleInfo example : examples) {
+                if (example.getLazyExample() != null && !example.getLazyExample().isMaterialized()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * JSON example del body como texto (se decodifica en cada llamada)
+         */
+        public String getRequestBodySchema() {
+            EncodedJson json = getRequestBodyJson();
+            return json != null ? json.getValue() : null;
+        }
+
+        public void setRequestBodySchema(String requestBodySchema) {
+            this.requestBodyJson = requestBodySchema != null ? EncodedJson.of(requestBodySchema) : null;
+        }
+
+        /**
+         * JSON example de la respuesta como texto (se decodifica en cada llamada)
+         */
+        public String getResponseExample() {
+            EncodedJson json = getResponseJson();
+            return json != null ? json.getValue() : null;
+        }
+
+        public void setResponseExample(String responseExample) {
+            this.responseJson = responseExample != null ? EncodedJson.of(responseExample) : null;
+        }
+    }
+
+    /**
+     * Ejemplo de un cuerpo para un media type (y código de respuesta)
+     *
+     * Para los media types JSON el ejemplo es el propio documento; para el resto (XML, formularios,
+     * NDJSON, binario) es un string JSON con el cuerpo en texto. Puede estar diferido como en EndpointInfo.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class ContentExampleInfo {
+        private String statusCode;   // "200", "404", "default"... (null en el request body)
+        private String mediaType;    // application/json, application/xml... (null si no hay contenido)
+        private String description;
+        @ToString.Exclude
+        private LazyExample example;
+
+        public ContentExampleInfo(String statusCode, String mediaType, String description, LazyExample example) {
+            this.statusCode = statusCode;
+            this.mediaType = mediaType;
+            this.description = description;
+            this.example = example;
+        }
+
+        /**
+         * Ejemplo codificado (se genera aquí si estaba diferido)
+         */
+        public EncodedJson getExample() {
+            return example != null ? example.get() : null;
+        }
+
+        public void setExample(EncodedJson example) {
+            this.example = example != null ? LazyExample.of(example) : null;
+        }
+
+        @JsonIgnore
+        public LazyExample getLazyExample() {
+            return example;
+        }
+
+        @JsonIgnore
+        public void setLazyExample(LazyExample example) {
+            this.example = example;
+        }
+
+        /**
+         * Ejemplo sólo si ya fue generado
+         */
+        public EncodedJson peekExample() {
+            return example != null ? example.peek() : null;
+        }
+    }
+
+    /**
+     * Resultado de un parseo incremental
+     */
+    @Data
+    public static class ContractDiff {
+        private List<EndpointInfo> endpoints = new ArrayList<>();  // Todos, en el orden del contrato
+        private List<EndpointInfo> added = new ArrayList<>();
+        private List<EndpointInfo> removed = new ArrayList<>();
+        private List<EndpointInfo> changed = new ArrayList<>();
+        private int reusedPaths;
+        private int reprocessedPaths;
+    }
+
+    /**
+     * Huella del path, huella por operación y endpoints extraídos (estado del parseo incremental)
+     */
+    private record ParsedPath(String fingerprint, Map<OperationMethod, String> operationFingerprints,
+                              List<EndpointInfo> endpoints) {
+    }
+
+    /**
+     * Información de un parámetro (query, path, header)
+     */
+    @Data
+    public static class ParameterInfo {
+        private String name;
+        private ParameterLocation in;  // query, path, header, cookie
+        private boolean required;
+        private String description;
+        private String type;        // string, integer, boolean, etc.
+        private String example;
+    }
+
+    /**
+     * Listener de avance del parseo de un contrato
+     */
+    @FunctionalInterface
+    public interface ParseProgress {
+        ParseProgress NONE = (processedPaths, totalPaths) -> { };
+
+        void onProgress(int processedPaths, int totalPaths);
+    }
+
+    /**
+     * Métodos HTTP soportados por el extractor
+     */
+    public enum OperationMethod {
+        GET, POST, PUT, DELETE, PATCH;
+
+        /**
+         * Convierte un método HTTP (sin distinguir mayúsculas) o devuelve null si no es soportado
+         */
+        public static OperationMethod fromValue(String value) {
+            if (value != null) {
+                for (OperationMethod method : values()) {
+                    if (method.name().equalsIgnoreCase(value)) {
+                        return method;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Ubicación de un parámetro; en JSON y en las vistas se muestra en minúsculas ("query")
+     */
+    public enum ParameterLocation {
+        QUERY("query"), PATH("path"), HEADER("header"), COOKIE("cookie");
+
+        private final String value;
+
+        ParameterLocation(String value) {
+            this.value = value;
+        }
+
+        @JsonValue
+        public String getValue() {
+            return value;
+        }
+
+        @JsonCreator
+        public static ParameterLocation fromValue(String value) {
+            if (value != null) {
+                for (ParameterLocation location : values()) {
+                    if (location.value.equalsIgnoreCase(value)) {
+                        return location;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
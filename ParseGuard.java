@@ -0,0 +1,74 @@
+package org.project.project.service;
+
+/**
+ * Control cooperativo de un parseo: tiempo máximo y cancelación externa
+ *
+ * El parser y el generador de ejemplos llaman a {@link #checkpoint()} entre paths y cada
+ * cierto número de nodos generados; al vencer el plazo o cancelarse se aborta con
+ * {@link ContractRejectedException}. Se puede cancelar desde cualquier hilo.
+ *
+ * Mientras está pausado ({@link #pause()}) el tiempo no cuenta para el plazo: lo usa el
+ * parseo streaming para no cobrarle al parser el tiempo que el consumidor tarda con cada endpoint.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public class ParseGuard {
+
+    private final long maxParseMillis;
+    private volatile long deadlineNanos;
+    private volatile boolean cancelled;
+
+    // Instante de la pausa en curso; sólo válido si paused
+    private volatile boolean paused;
+    private long pausedAtNanos;
+
+    public ParseGuard(long maxParseMillis) {
+        this.maxParseMillis = maxParseMillis;
+        this.deadlineNanos = System.nanoTime() + maxParseMillis * 1_000_000L;
+    }
+
+    /**
+     * Solicita abortar el parseo en el próximo checkpoint
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Detiene el reloj del plazo hasta {@link #resume()} (sin efecto si ya está pausado)
+     */
+    public synchronized void pause() {
+        if (!paused) {
+            pausedAtNanos = System.nanoTime();
+            paused = true;
+        }
+    }
+
+    /**
+     * Reanuda el reloj: el plazo se desplaza lo que duró la pausa
+     */
+    public synchronized void resume() {
+        if (paused) {
+            deadlineNanos += System.nanoTime() - pausedAtNanos;
+            paused = false;
+        }
+    }
+
+    /**
+     * @throws ContractRejectedException si el parseo fue cancelado o superó su tiempo máximo
+     */
+    public void checkpoint() {
+        if (cancelled) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.CANCELLED, "Parseo cancelado");
+        }
+        if (!paused && System.nanoTime() - deadlineNanos > 0) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.PARSE_TIMEOUT,
+                    "El parseo superó el tiempo máximo de " + maxParseMillis + " ms");
+        }
+    }
+}
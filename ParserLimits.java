@@ -0,0 +1,25 @@
+package org.project.project.service;
+
+/**
+ * Límites de recursos aplicados a cada contrato parseado
+ *
+ * @param maxContractBytes Tamaño máximo del contrato (UTF-8)
+ * @param maxPaths Número máximo de paths
+ * @param maxSchemaDepth Profundidad máxima de anidamiento al generar ejemplos
+ * @param maxExampleNodes Número máximo de nodos JSON por ejemplo generado
+ * @param maxExampleBytes Tamaño máximo de un ejemplo generado (UTF-8)
+ * @param maxParseMillis Tiempo máximo de parseo y extracción
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public record ParserLimits(long maxContractBytes, int maxPaths, int maxSchemaDepth,
+                           int maxExampleNodes, int maxExampleBytes, long maxParseMillis) {
+
+    /**
+     * Límites por defecto (los mismos que la configuración de OpenApiParserService)
+     */
+    public static ParserLimits defaults() {
+        return new ParserLimits(10L * 1024 * 1024, 20_000, 32, 10_000, 1024 * 1024, 30_000);
+    }
+}
@@ -0,0 +1,228 @@
+package org.project.project.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor opaco para la paginación por keyset de los listados de proyectos
+ *
+ * Codifica el orden pedido ('recent', 'oldest', 'name') y las claves del último proyecto
+ * devuelto (columna de orden + id como desempate) de un {@link KeysetScrollPosition}, de modo
+ * que la página siguiente se obtiene con un WHERE sobre esas claves en lugar de un OFFSET.
+ *
+ * Formato (Base64 URL-safe): líneas con versión, orden y por cada clave nombre, tipo y valor
+ * (URL-encoded, así que un nombre de proyecto no puede romper las líneas).
+ * Cada orden admite sólo sus claves y tipos (KEYS): 'recent'/'oldest' fechaCreacion (ldt)
+ * y proyectoId (long), 'name' nombreProyecto (str) y proyectoId (long). Cualquier otra clave o
+ * tipo se rechaza, así que un cliente no puede inyectar propiedades arbitrarias en el WHERE del
+ * keyset. Las ventanas de ProjectService se ordenan con {@link #sortFor(String)}, así que las
+ * posiciones que devuelven tienen exactamente estas claves.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public final class ProjectCursor {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_CURSOR_LENGTH = 1024;
+
+    /**
+     * Propiedades de Proyecto por las que se ordenan los listados
+     */
+    public static final String FECHA_CREACION = "fechaCreacion";
+    public static final String NOMBRE = "nombreProyecto";
+    public static final String PROYECTO_ID = "proyectoId";
+
+    /**
+     * Claves permitidas por orden, en el orden en que se codifican
+     */
+    private static final Map<String, List<Key>> KEYS = Map.of(
+            "recent", List.of(new Key(FECHA_CREACION, "ldt"), new Key(PROYECTO_ID, "long")),
+            "oldest", List.of(new Key(FECHA_CREACION, "ldt"), new Key(PROYECTO_ID, "long")),
+            "name", List.of(new Key(NOMBRE, "str"), new Key(PROYECTO_ID, "long")));
+
+    private ProjectCursor() {
+    }
+
+    /**
+     * Orden de un listado: 'recent' (default), 'oldest' o 'name', con el id como desempate (así
+     * el orden es determinista entre páginas y las claves del cursor son únicas)
+     */
+    public static Sort sortFor(String sort) {
+        if ("name".equals(sort)) {
+            return Sort.by(Sort.Order.asc(NOMBRE), Sort.Order.asc(PROYECTO_ID));
+        }
+        if ("oldest".equals(sort)) {
+            return Sort.by(Sort.Order.asc(FECHA_CREACION), Sort.Order.asc(PROYECTO_ID));
+        }
+        return Sort.by(Sort.Order.desc(FECHA_CREACION), Sort.Order.desc(PROYECTO_ID));
+    }
+
+    /**
+     * Cursor que apunta después del último elemento de una ventana
+     *
+     * @param sort Orden del listado
+     * @param position Posición devuelta por Window.positionAt(...) (debe ser keyset)
+     * @return Cursor opaco, o null si la posición no es de keyset
+     * @throws IllegalArgumentException si las claves no son las del orden o tienen un tipo no convertible
+     */
+    public static String encode(String sort, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            return null;
+        }
+        List<Key> expected = keysFor(sort);
+        Map<String, Object> values = keyset.getKeys();
+        if (values.size() != expected.size()) {
+            throw new IllegalArgumentException("Claves de keyset inesperadas para el orden '" + sort + "': " + values.keySet());
+        }
+        StringBuilder payload = new StringBuilder();
+        payload.append(FORMAT_VERSION).append('\n').append(sort);
+        for (Key key : expected) {
+            if (!values.containsKey(key.name())) {
+                throw new IllegalArgumentException("Claves de keyset inesperadas para el orden '" + sort + "': " + values.keySet());
+            }
+            payload.append('\n').append(URLEncoder.encode(key.name(), StandardCharsets.UTF_8))
+                    .append('\n').append(key.type())
+                    .append('\n').append(URLEncoder.encode(valueOf(key, values.get(key.name())), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posición de keyset a partir de un cursor; un cursor vacío es el inicio del listado
+     *
+     * @param cursor Cursor recibido del cliente
+     * @param sort Orden pedido (debe coincidir con el del cursor)
+     * @throws IllegalArgumentException si el cursor está malformado, es de otro orden o trae
+     *                                  claves o tipos que no son los del orden
+     */
+    public static KeysetScrollPosition decode(String cursor, String sort) {
+        List<Key> expected = keysFor(sort);
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        if (cursor.length() > MAX_CURSOR_LENGTH) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        String[] lines;
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            lines = StandardCharsets.UTF_8.newDecoder()
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString()
+                    .split("\n", -1);
+        } catch (IllegalArgumentException | CharacterCodingException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (lines.length < 2 || !String.valueOf(FORMAT_VERSION).equals(lines[0])) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!sort.equals(lines[1])) {
+            throw new IllegalArgumentException("El cursor corresponde al orden '" + lines[1] + "', no a '" + sort + "'");
+        }
+        if (lines.length != 2 + 3 * expected.size()) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int k = 0; k < expected.size(); k++) {
+            Key key = expected.get(k);
+            int line = 2 + 3 * k;
+            if (!key.name().equals(decodeField(lines[line])) || !key.type().equals(lines[line + 1])) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            keys.put(key.name(), parse(key.type(), decodeField(lines[line + 2])));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static List<Key> keysFor(String sort) {
+        List<Key> keys = sort != null ? KEYS.get(sort) : null;
+        if (keys == null) {
+            throw new IllegalArgumentException("Orden no soportado para paginación por cursor: " + sort);
+        }
+        return keys;
+    }
+
+    /**
+     * Valor de la clave en el formato de su tipo; las fechas JDBC se convierten a LocalDateTime
+     * (java.sql.Date no admite toInstant(), se pasa por toLocalDate())
+     */
+    private static String valueOf(Key key, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Clave de keyset nula: " + key.name());
+        }
+        return switch (key.type()) {
+            case "str" -> value.toString();
+            case "long" -> {
+                if (!(value instanceof Long || value instanceof Integer || value instanceof Short)) {
+                    throw new IllegalArgumentException("Tipo no soportado para " + key.name() + ": " + value.getClass().getName());
+                }
+                yield String.valueOf(((Number) value).longValue());
+            }
+            case "ldt" -> toLocalDateTime(key, value).toString();
+            default -> throw new IllegalStateException("Tipo de clave desconocido: " + key.type());
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(Key key, Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        if (value instanceof Date date) {
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+        throw new IllegalArgumentException("Tipo no soportado para " + key.name() + ": " + value.getClass().getName());
+    }
+
+    private static String decodeField(String text) {
+        try {
+            return URLDecoder.decode(text, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private static Object parse(String type, String text) {
+        try {
+            return switch (type) {
+                case "str" -> text;
+                case "long" -> Long.valueOf(text);
+                case "ldt" -> LocalDateTime.parse(text);
+                default -> throw new IllegalArgumentException("Cursor inválido");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private record Key(String name, String type) {
+    }
+}
@@ -0,0 +1,67 @@
+package org.project.project.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Evento de cambio en los proyectos de uno o varios usuarios
+ *
+ * Se publica con ApplicationEventPublisher dentro de la transacción de la operación que cambia
+ * la pertenencia: desde {@link ProjectService} al crear, eliminar, unirse o salir de un proyecto
+ * y desde el servicio de equipos al cambiar los miembros de un equipo, con los usuarios cuyas
+ * estadísticas cambian. Un evento para todos los usuarios sólo se crea de forma
+ * explícita con {@link #forAllUsers(Change, Long)}; of(...) exige al menos un usuario.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public record ProjectMembershipChangedEvent(Change change, Long projectId, Set<Long> userIds, boolean allUsers) {
+
+    public enum Change {
+        PROJECT_CREATED,
+        PROJECT_DELETED,
+        PROJECT_JOINED,
+        PROJECT_LEFT,
+        TEAM_MEMBERSHIP_CHANGED
+    }
+
+    public ProjectMembershipChangedEvent {
+        if (change == null) {
+            throw new IllegalArgumentException("El tipo de cambio es obligatorio");
+        }
+        if (allUsers) {
+            userIds = Set.of();
+        } else {
+            if (userIds == null || userIds.isEmpty() || userIds.stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException("El evento debe indicar los usuarios afectados (o usar forAllUsers)");
+            }
+            userIds = Set.copyOf(userIds);
+        }
+    }
+
+    public static ProjectMembershipChangedEvent of(Change change, Long projectId, Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("El usuario afectado es obligatorio");
+        }
+        return new ProjectMembershipChangedEvent(change, projectId, Set.of(userId), false);
+    }
+
+    public static ProjectMembershipChangedEvent of(Change change, Long projectId, Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("El evento debe indicar los usuarios afectados (o usar forAllUsers)");
+        }
+        return new ProjectMembershipChangedEvent(change, projectId, Set.copyOf(userIds), false);
+    }
+
+    /**
+     * Evento que afecta a todos los usuarios
+     */
+    public static ProjectMembershipChangedEvent forAllUsers(Change change, Long projectId) {
+        return new ProjectMembershipChangedEvent(change, projectId, null, true);
+    }
+
+    public boolean affectsAllUsers() {
+        return allUsers;
+    }
+}
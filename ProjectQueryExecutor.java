@@ -0,0 +1,235 @@
+package org.project.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta en paralelo las consultas independientes de un request (página, total, estadísticas)
+ *
+ * Cada request abre un {@link QueryScope}: las consultas se lanzan con fork(), join() espera
+ * a todas hasta el deadline y, si una falla o se agota el tiempo, se cancelan (interrumpen)
+ * las demás; al cerrar el scope no queda ninguna corriendo. Es el mismo modelo que
+ * StructuredTaskScope.ShutdownOnFailure, sobre un pool de plataforma acotado (Java 17).
+ * El request ejecuta una de sus consultas en su propio hilo y sólo lanza con fork() las demás.
+ *
+ * Cada consulta corre en su propia transacción de sólo lectura y con el SecurityContext del
+ * request que la lanzó, igual que si se ejecutara en el hilo del request.
+ *
+ * El pool limita las consultas simultáneas de todos los requests (y con ello las conexiones
+ * del pool JDBC que pueden ocupar): los hilos se limitan a la mitad del pool de conexiones,
+ * porque cada request que espera en join() retiene la suya (open-in-view). Para que esas
+ * esperas no agoten las conexiones que necesitan los hilos del pool, join() ejecuta en el hilo
+ * del request (con su conexión) las consultas que el pool aún no empezó: un request sólo espera
+ * a consultas que ya tienen hilo, y como mucho hay tantas como hilos. Si la cola se llena la
+ * consulta se ejecuta en el propio hilo del request, que vuelve al comportamiento secuencial
+ * en lugar de fallar.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class ProjectQueryExecutor {
+
+    /**
+     * Hilos del pool: máximo de consultas simultáneas (mantener por debajo del pool de conexiones)
+     */
+    @Value("${projects.query-pool.threads:8}")
+    private int threads;
+
+    @Value("${projects.query-pool.queue:256}")
+    private int queueCapacity;
+
+    /**
+     * Tamaño del pool de conexiones JDBC (el mismo valor que usa Hikari)
+     */
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    /**
+     * Tiempo máximo de un request para obtener todas sus consultas
+     */
+    @Value("${projects.query-timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor pool;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void initPool() {
+        int maxThreads = Math.max(1, connectionPoolSize / 2);
+        if (threads > maxThreads) {
+            log.warn("projects.query-pool.threads={} supera la mitad del pool de conexiones ({}); se usan {} hilos",
+                    threads, connectionPoolSize, maxThreads);
+            threads = maxThreads;
+        }
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger counter = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "project-query-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        log.info("Consultas concurrentes de proyectos habilitadas ({} hilos, timeout {} ms)", threads, timeoutMillis);
+    }
+
+    @PreDestroy
+    void shutdownPool() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Abre un scope con el deadline configurado (usar con try-with-resources)
+     */
+    public QueryScope open() {
+        return new QueryScope(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * Grupo de consultas de un request
+     */
+    public final class QueryScope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final List<FutureTask<?>> tasks = new ArrayList<>();
+        private final List<CompletableFuture<Void>> completions = new ArrayList<>();
+        private final CompletableFuture<Void> failure = new CompletableFuture<>();
+
+        private QueryScope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Lanza una consulta (en una transacción de sólo lectura, con el SecurityContext actual);
+         * el resultado se lee con get() después de join()
+         */
+        public <T> Supplier<T> fork(Callable<T> query) {
+            CompletableFuture<Void> completion = new CompletableFuture<>();
+            Callable<T> transactional = () -> readOnlyTransaction.execute(status -> {
+                try {
+                    return query.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+            FutureTask<T> task = new FutureTask<>(new DelegatingSecurityContextCallable<>(transactional)) {
+                @Override
+                protected void done() {
+                    if (!isCancelled()) {
+                        try {
+                            get();
+                        } catch (ExecutionException e) {
+                            failure.completeExceptionally(unwrap(e.getCause()));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    completion.complete(null);
+                }
+            };
+            tasks.add(task);
+            completions.add(completion);
+            pool.execute(task);
+            return () -> {
+                if (!task.isDone() || task.isCancelled()) {
+                    throw new IllegalStateException("La consulta no terminó: llamar a join() antes de leer el resultado");
+                }
+                try {
+                    return task.get();
+                } catch (ExecutionException | InterruptedException e) {
+                    // join() ya habría relanzado el error
+                    throw new IllegalStateException("La consulta de proyectos falló", e);
+                }
+            };
+        }
+
+        /**
+         * Espera a todas las consultas, ejecutando antes en este hilo las que el pool aún no
+         * empezó. Ante el primer error (o al vencer el deadline) cancela las que sigan corriendo
+         * y lo relanza: las RuntimeException tal cual, el resto envueltas en IllegalStateException.
+         *
+         * @throws TimeoutException si no terminaron antes del deadline
+         */
+        public void join() throws TimeoutException, InterruptedException {
+            // run() no hace nada si un hilo del pool ya la tomó (o terminó); la entrada de la cola
+            // tampoco hará nada cuando le llegue el turno
+            for (FutureTask<?> task : tasks) {
+                if (!failure.isDone()) {
+                    task.run();
+                }
+            }
+
+            CompletableFuture<Void> all = CompletableFuture.allOf(completions.toArray(new CompletableFuture[0]));
+            try {
+                CompletableFuture.anyOf(all, failure)
+                        .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // Se trata abajo: anyOf puede devolver 'all' aunque 'failure' también haya terminado
+            } catch (TimeoutException e) {
+                cancelRemaining();
+                throw new TimeoutException("Las consultas de proyectos superaron el tiempo máximo");
+            }
+
+            if (failure.isCompletedExceptionally()) {
+                cancelRemaining();
+                Throwable cause = failure.handle((ignored, error) -> error).join();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Error en una consulta de proyectos", cause);
+            }
+        }
+
+        private Throwable unwrap(Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+
+        private void cancelRemaining() {
+            for (FutureTask<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelRemaining();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.project.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache por usuario de las estadísticas de proyectos (obtenerEstadisticasProyectosUsuario)
+ *
+ * Las estadísticas sólo cambian cuando cambian los proyectos o equipos del usuario, así que se
+ * invalidan con {@link ProjectMembershipChangedEvent} (tras el commit de la transacción que lo
+ * publica); el TTL es sólo una red de seguridad para cambios que no publiquen el evento.
+ * Las llamadas simultáneas de un mismo usuario (el dashboard hace varias por carga) comparten
+ * una única consulta.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class ProjectStatsCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // accessOrder = true: el primer elemento es siempre el menos usado recientemente
+    private final LinkedHashMap<Long, CachedStats> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Cargas en curso por usuario (para no lanzar las mismas consultas en paralelo). La carga
+    // registrada hace de epoch por usuario: invalidar a un usuario la quita del mapa y, como sólo
+    // se guarda el resultado de la carga que sigue registrada, lo que empezó antes no se cachea
+    // (sin afectar a las cargas de los demás usuarios)
+    private final Map<Long, CompletableFuture<Map<String, Object>>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public ProjectStatsCache(@Value("${projects.stats-cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${projects.stats-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Devuelve las estadísticas del usuario, calculándolas con {@code loader} si no están en cache
+     *
+     * @param userId Usuario
+     * @param loader Cálculo de las estadísticas (consultas de agregación)
+     * @return Estadísticas (no modificables)
+     */
+    public Map<String, Object> get(Long userId, Supplier<Map<String, Object>> loader) {
+        if (ttlNanos <= 0 || maxEntries <= 0) {
+            return loader.get();
+        }
+
+        synchronized (this) {
+            CachedStats cached = entries.get(userId);
+            if (cached != null) {
+                if (System.nanoTime() - cached.expiresAtNanos < 0) {
+                    hits.incrementAndGet();
+                    return cached.stats;
+                }
+                entries.remove(userId);
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Map<String, Object>> load = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> inFlight = loading.putIfAbsent(userId, load);
+        if (inFlight != null) {
+            coalesced.incrementAndGet();
+            return await(inFlight);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> stats = Collections.unmodifiableMap(new HashMap<>(loader.get()));
+            long end = System.nanoTime();
+            loadNanos.addAndGet(end - start);
+            put(userId, new CachedStats(stats, end + ttlNanos), load);
+            load.complete(stats);
+            return stats;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userId, load);
+        }
+    }
+
+    /**
+     * Estadísticas del usuario si están en cache y vigentes (sin cargarlas); null si no
+     */
+    public Map<String, Object> getIfPresent(Long userId) {
+        if (ttlNanos <= 0 || maxEntries <= 0) {
+            return null;
+        }
+        synchronized (this) {
+            CachedStats cached = entries.get(userId);
+            if (cached == null || System.nanoTime() - cached.expiresAtNanos >= 0) {
+                return null;
+            }
+            hits.incrementAndGet();
+            return cached.stats;
+        }
+    }
+
+    private synchronized void put(Long userId, CachedStats stats, CompletableFuture<Map<String, Object>> load) {
+        // Bajo el lock: si el usuario se invalidó durante la carga, ésta ya no está registrada
+        if (loading.get(userId) != load) {
+            return;
+        }
+        entries.put(userId, stats);
+        Iterator<Map.Entry<Long, CachedStats>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Invalida las estadísticas de los usuarios afectados cuando la transacción que publicó
+     * el evento confirma (o de inmediato si se publicó fuera de una transacción)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        if (event.affectsAllUsers()) {
+            invalidateAll();
+        } else {
+            event.userIds().forEach(this::invalidate);
+        }
+        log.debug("Estadísticas de proyectos invalidadas por {} (proyecto {}, usuarios {})",
+                event.change(), event.projectId(), event.affectsAllUsers() ? "todos" : event.userIds());
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (this) {
+            entries.remove(userId);
+            // Quien llegue ahora no debe esperar a una carga iniciada antes del cambio, y esa
+            // carga no se guardará (ver put)
+            loading.remove(userId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        synchronized (this) {
+            entries.clear();
+            loading.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Métricas del cache: hits, misses, cargas compartidas, expiraciones, expulsiones,
+     * invalidaciones y tiempo medio de carga
+     */
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long loads = missCount - coalesced.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        stats.put("coalescedLoads", coalesced.get());
+        stats.put("expirations", expirations.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("averageLoadMs", loads > 0 ? loadNanos.get() / 1_000_000.0 / loads : 0.0);
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        return stats;
+    }
+
+    private record CachedStats(Map<String, Object> stats, long expiresAtNanos) {
+    }
+}
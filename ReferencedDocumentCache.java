@@ -0,0 +1,142 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache direccionado por contenido de los documentos parseados de un bundle de contrato
+ *
+ * La clave es el SHA-256 de los bytes del archivo, no su nombre: una librería de schemas
+ * común (errors.yaml, pagination.yaml...) incluida en muchos bundles se parsea una sola vez
+ * por nodo aunque cambie de ruta. Los árboles devueltos son compartidos: no modificarlos.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class ReferencedDocumentCache {
+
+    private final long maxWeightBytes;
+
+    // accessOrder = true: el primer elemento es siempre el menos usado recientemente
+    private final LinkedHashMap<String, CachedDocument> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeightBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ReferencedDocumentCache(@Value("${openapi.parser.document-cache.max-bytes:33554432}") long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    /**
+     * Devuelve el documento parseado (YAML o JSON), parseándolo sólo si su contenido no está en cache
+     *
+     * @param content Bytes del archivo
+     * @param fileName Nombre del archivo (sólo para elegir el parser y para los mensajes de error)
+     * @return Árbol del documento (compartido, no modificar)
+     * @throws IllegalArgumentException si el archivo no es YAML/JSON válido
+     */
+    public JsonNode get(byte[] content, String fileName) {
+        String key = sha256(content);
+        synchronized (this) {
+            CachedDocument cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.document;
+            }
+        }
+        misses.incrementAndGet();
+
+        JsonNode document;
+        try {
+            document = isJson(content, fileName) ? Json.mapper().readTree(content) : Yaml.mapper().readTree(content);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Archivo " + fileName + " no es YAML/JSON válido: " + e.getMessage(), e);
+        }
+
+        // Árbol Jackson: varias veces el tamaño del texto
+        long weight = 64 + 6L * content.length;
+        if (weight <= maxWeightBytes) {
+            put(key, new CachedDocument(document, weight));
+        }
+        return document;
+    }
+
+    private synchronized void put(String key, CachedDocument document) {
+        CachedDocument previous = entries.put(key, document);
+        if (previous != null) {
+            currentWeightBytes -= previous.weightBytes;
+        }
+        currentWeightBytes += document.weightBytes;
+
+        Iterator<Map.Entry<String, CachedDocument>> it = entries.entrySet().iterator();
+        while (currentWeightBytes > maxWeightBytes && it.hasNext()) {
+            Map.Entry<String, CachedDocument> eldest = it.next();
+            currentWeightBytes -= eldest.getValue().weightBytes;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Vacía el cache (los contadores se conservan)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentWeightBytes = 0;
+    }
+
+    /**
+     * Estadísticas del cache: hits, misses, evictions, entradas y peso actual
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("entries", entries.size());
+        stats.put("weightBytes", currentWeightBytes);
+        stats.put("maxWeightBytes", maxWeightBytes);
+        return stats;
+    }
+
+    private static boolean isJson(byte[] content, String fileName) {
+        if (fileName != null && fileName.toLowerCase().endsWith(".json")) {
+            return true;
+        }
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{' || b == '[';
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record CachedDocument(JsonNode document, long weightBytes) {
+    }
+}
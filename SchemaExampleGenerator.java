@@ -0,0 +1,441 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generador de ejemplos JSON a partir de schemas OpenAPI
+ *
+ * Resuelve $ref a components/schemas, recorre objetos, arrays (items), allOf/oneOf/anyOf
+ * y enums. Cada componente se genera una sola vez por contrato (memoizado) y los ciclos
+ * de referencias se cortan con un objeto vacío; los componentes cuyo ejemplo cortó un ciclo
+ * no se memoizan, porque el corte depende del endpoint desde el que se llegó. Una instancia corresponde a un contrato
+ * y es segura para la extracción paralela de paths.
+ *
+ * Con un {@link SharedExampleCache} los componentes se buscan además por su huella
+ * estructural, de modo que un schema idéntico en otro contrato no se vuelve a generar.
+ *
+ * Los schemas que superan la profundidad, el número de nodos o el tamaño máximos
+ * ({@link ParserLimits}) rechazan el contrato con {@link ContractRejectedException}.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+public class SchemaExampleGenerator {
+
+    private static final String COMPONENTS_SCHEMAS_PREFIX = "#/components/schemas/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Map<String, Schema> componentSchemas;
+    private final ParserLimits limits;
+    private final ParseGuard guard;
+    private final SharedExampleCache sharedCache;
+    private final OpenAPI openAPI;
+    private volatile OpenApiFingerprinter fingerprinter;
+
+    // Ejemplo ya generado por componente (nombre del schema en components/schemas)
+    private final Map<String, GeneratedExample> componentExamples;
+
+    // Huella estructural por componente (sólo con cache compartido)
+    private final Map<String, String> componentHashes;
+
+    public SchemaExampleGenerator(OpenAPI openAPI, ParserLimits limits, ParseGuard guard) {
+        this(openAPI, limits, guard, null);
+    }
+
+    public SchemaExampleGenerator(OpenAPI openAPI, ParserLimits limits, ParseGuard guard,
+                                  SharedExampleCache sharedCache) {
+        Components components = openAPI != null ? openAPI.getComponents() : null;
+        this.componentSchemas = components != null && components.getSchemas() != null
+                ? components.getSchemas()
+                : Collections.emptyMap();
+        this.limits = limits;
+        this.guard = guard;
+        this.sharedCache = sharedCache;
+        this.openAPI = openAPI;
+        this.componentExamples = new ConcurrentHashMap<>();
+        this.componentHashes = new ConcurrentHashMap<>();
+    }
+
+    private SchemaExampleGenerator(SchemaExampleGenerator source, ParseGuard guard) {
+        this.componentSchemas = source.componentSchemas;
+        this.limits = source.limits;
+        this.guard = guard;
+        this.sharedCache = source.sharedCache;
+        this.openAPI = source.openAPI;
+        this.fingerprinter = source.fingerprinter;
+        this.componentExamples = source.componentExamples;
+        this.componentHashes = source.componentHashes;
+    }
+
+    /**
+     * Generador del mismo contrato (comparte los componentes memoizados) que aplica otro
+     * ParseGuard, p. ej. para generar un ejemplo diferido con su propio plazo fuera del parseo
+     */
+    public SchemaExampleGenerator withGuard(ParseGuard guard) {
+        return new SchemaExampleGenerator(this, guard);
+    }
+
+    /**
+     * Genera un ejemplo JSON (con formato legible) ya codificado en UTF-8
+     *
+     * @param schema Schema de OpenAPI
+     * @return JSON de ejemplo listo para escribirse tal cual en una respuesta
+     * @throws ContractRejectedException si el ejemplo supera los límites configurados
+     */
+    public EncodedJson encode(Schema schema) {
+        // $ref directo a un componente: se reutilizan los bytes ya codificados del cache compartido
+        String componentName = sharedCache != null ? componentName(schema) : null;
+        if (componentName != null) {
+            GeneratedExample example = resolveComponent(componentName, new Budget(), new ArrayDeque<>(), 0);
+            if (example != null && example.json != null) {
+                checkExampleSize(example.json.length());
+                return example.json;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.useDefaultPrettyPrinter();
+            write(schema, gen);
+        } catch (IOException e) {
+            log.warn("No se pudo serializar el ejemplo generado: {}", e.getMessage());
+            return EncodedJson.of("{}");
+        }
+        checkExampleSize(out.size());
+        return EncodedJson.of(out.toByteArray());
+    }
+
+    /**
+     * Codifica un cuerpo en texto (XML, formulario, NDJSON...) como string JSON, con el mismo
+     * límite de tamaño que los ejemplos JSON
+     *
+     * @throws ContractRejectedException si el texto supera maxExampleBytes
+     */
+    public EncodedJson encodeText(String text) {
+        byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(text);
+        checkExampleSize(quoted.length + 2);
+        byte[] utf8 = new byte[quoted.length + 2];
+        utf8[0] = '"';
+        System.arraycopy(quoted, 0, utf8, 1, quoted.length);
+        utf8[utf8.length - 1] = '"';
+        return EncodedJson.of(utf8);
+    }
+
+    /**
+     * Los ejemplos declarados en el contrato cuentan como un solo nodo: se limita también el tamaño
+     */
+    private void checkExampleSize(int bytes) {
+        if (bytes > limits.maxExampleBytes()) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.EXAMPLE_TOO_LARGE,
+                    "Ejemplo generado de " + bytes + " bytes (máximo " + limits.maxExampleBytes() + ")");
+        }
+    }
+
+    /**
+     * Escribe el ejemplo de un schema directamente en un JsonGenerator (Jackson se encarga del escapado)
+     */
+    public void write(Schema schema, JsonGenerator gen) throws IOException {
+        MAPPER.writeTree(gen, generateNode(schema));
+    }
+
+    /**
+     * Genera el ejemplo como árbol JSON. El árbol puede compartir nodos memoizados: no modificarlo.
+     */
+    public JsonNode generateNode(Schema schema) {
+        if (schema == null) {
+            return NODES.objectNode();
+        }
+        return generate(schema, new Budget(), new ArrayDeque<>(), 0);
+    }
+
+    private JsonNode generate(Schema schema, Budget budget, Deque<String> refStack, int depth) {
+        if (schema == null) {
+            return NODES.nullNode();
+        }
+        if (depth > limits.maxSchemaDepth()) {
+            throw new ContractRejectedException(ContractRejectedException.Reason.SCHEMA_TOO_DEEP,
+                    "Schema con más de " + limits.maxSchemaDepth() + " niveles de anidamiento");
+        }
+        budget.consume(1);
+
+        // Si ya tiene un ejemplo definido, usarlo
+        if (schema.getExample() != null) {
+            return toNode(schema.getExample());
+        }
+
+        if (schema.get$ref() != null) {
+            return generateReference(schema.get$ref(), budget, refStack, depth);
+        }
+
+        if (schema.getEnum() != null && !schema.getEnum().isEmpty()) {
+            return toNode(schema.getEnum().get(0));
+        }
+
+        if (schema instanceof ComposedSchema composed) {
+            return generateComposed(composed, budget, refStack, depth);
+        }
+
+        if (schema instanceof ArraySchema arraySchema) {
+            ArrayNode array = NODES.arrayNode();
+            if (arraySchema.getItems() != null) {
+                array.add(generate(arraySchema.getItems(), budget, refStack, depth + 1));
+            }
+            return array;
+        }
+
+        Map<String, Schema> properties = schema.getProperties();
+        if (properties != null && !properties.isEmpty()) {
+            ObjectNode object = NODES.objectNode();
+            for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+                object.set(entry.getKey(), generate(entry.getValue(), budget, refStack, depth + 1));
+            }
+            return object;
+        }
+
+        if (schema.getAdditionalProperties() instanceof Schema additional) {
+            ObjectNode object = NODES.objectNode();
+            object.set("additionalProp1", generate(additional, budget, refStack, depth + 1));
+            return object;
+        }
+
+        return emptyValueFor(schema);
+    }
+
+    /**
+     * Resuelve un $ref local; cada componente se genera una vez y se reutiliza
+     */
+    private JsonNode generateReference(String ref, Budget budget, Deque<String> refStack, int depth) {
+        if (!ref.startsWith(COMPONENTS_SCHEMAS_PREFIX)) {
+            log.debug("Referencia no soportada para ejemplos: {}", ref);
+            return NODES.objectNode();
+        }
+        GeneratedExample example = resolveComponent(ref.substring(COMPONENTS_SCHEMAS_PREFIX.length()),
+                budget, refStack, depth);
+        return example != null ? example.node : NODES.objectNode();
+    }
+
+    /**
+     * Ejemplo de un componente: memo del contrato, luego cache compartido y por último generación
+     *
+     * @return Ejemplo, o null si el componente no existe o cierra un ciclo
+     */
+    private GeneratedExample resolveComponent(String name, Budget budget, Deque<String> refStack, int depth) {
+        GeneratedExample memoized = componentExamples.get(name);
+        if (memoized != null) {
+            budget.consume(memoized.nodeCount);
+            return memoized;
+        }
+
+        // Ciclo: el componente se está generando más arriba en esta misma rama
+        if (refStack.contains(name)) {
+            budget.cycleCuts++;
+            return null;
+        }
+
+        Schema target = componentSchemas.get(name);
+        if (target == null) {
+            log.debug("Componente no encontrado: {}{}", COMPONENTS_SCHEMAS_PREFIX, name);
+            return null;
+        }
+
+        String structuralHash = sharedCache != null ? componentHash(name, target) : null;
+        if (structuralHash != null) {
+            SharedExampleCache.SharedExample shared = sharedCache.get(structuralHash);
+            if (shared != null) {
+                budget.consume(shared.nodeCount());
+                return memoize(name, new GeneratedExample(shared.node(), shared.nodeCount(), shared.json()));
+            }
+        }
+
+        int usedBefore = budget.used;
+        int cycleCutsBefore = budget.cycleCuts;
+        refStack.push(name);
+        JsonNode node;
+        try {
+            node = generate(target, budget, refStack, depth + 1);
+        } finally {
+            refStack.pop();
+        }
+        int nodeCount = budget.used - usedBefore;
+
+        // Si se cortó un ciclo el ejemplo depende de por dónde se llegó: no se memoiza ni se comparte
+        // entre contratos (si no, en la extracción paralela el primer hilo en llegar decidiría el
+        // ejemplo de todos los endpoints). Sin cortes el ejemplo es el mismo desde cualquier entrada.
+        if (budget.cycleCuts != cycleCutsBefore) {
+            return new GeneratedExample(node, nodeCount, null);
+        }
+        EncodedJson json = null;
+        if (structuralHash != null) {
+            SharedExampleCache.SharedExample shared = sharedCache.put(structuralHash, node, nodeCount);
+            if (shared != null) {
+                node = shared.node();
+                json = shared.json();
+            }
+        }
+        return memoize(name, new GeneratedExample(node, nodeCount, json));
+    }
+
+    private GeneratedExample memoize(String name, GeneratedExample example) {
+        GeneratedExample previous = componentExamples.putIfAbsent(name, example);
+        return previous != null ? previous : example;
+    }
+
+    /**
+     * Nombre del componente si el schema es sólo un $ref a components/schemas (sin ejemplo propio)
+     */
+    private static String componentName(Schema schema) {
+        if (schema == null || schema.getExample() != null || schema.get$ref() == null
+                || !schema.get$ref().startsWith(COMPONENTS_SCHEMAS_PREFIX)) {
+            return null;
+        }
+        return schema.get$ref().substring(COMPONENTS_SCHEMAS_PREFIX.length());
+    }
+
+    /**
+     * Huella estructural del componente (incluye los componentes que referencia)
+     */
+    private String componentHash(String name, Schema target) {
+        return componentHashes.computeIfAbsent(name, key -> fingerprinter().fingerprint(target));
+    }
+
+    private OpenApiFingerprinter fingerprinter() {
+        OpenApiFingerprinter current = fingerprinter;
+        if (current == null) {
+            synchronized (this) {
+                current = fingerprinter;
+                if (current == null) {
+                    current = new OpenApiFingerprinter(openAPI);
+                    fingerprinter = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private JsonNode generateComposed(ComposedSchema composed, Budget budget, Deque<String> refStack, int depth) {
+        List<Schema> allOf = composed.getAllOf();
+        if (allOf != null && !allOf.isEmpty()) {
+            // allOf: se combinan las propiedades de todos los subschemas
+            ObjectNode merged = NODES.objectNode();
+            for (Schema part : allOf) {
+                JsonNode partNode = generate(part, budget, refStack, depth + 1);
+                if (partNode instanceof ObjectNode partObject) {
+                    merged.setAll(partObject);
+                }
+            }
+            if (composed.getProperties() != null) {
+                for (Map.Entry<String, Schema> entry : composed.getProperties().entrySet()) {
+                    merged.set(entry.getKey(), generate(entry.getValue(), budget, refStack, depth + 1));
+                }
+            }
+            return merged;
+        }
+
+        // oneOf / anyOf: basta con la primera alternativa
+        List<Schema> alternatives = composed.getOneOf() != null && !composed.getOneOf().isEmpty()
+                ? composed.getOneOf()
+                : composed.getAnyOf();
+        if (alternatives != null && !alternatives.isEmpty()) {
+            return generate(alternatives.get(0), budget, refStack, depth + 1);
+        }
+        return NODES.objectNode();
+    }
+
+    /**
+     * Valor por defecto según el tipo del schema
+     */
+    private static JsonNode emptyValueFor(Schema schema) {
+        String type = schema.getType();
+        if (type == null && schema instanceof ArraySchema) {
+            type = "array";
+        }
+        switch (type != null ? type : (schema.getProperties() != null ? "object" : "string")) {
+            case "integer":
+            case "number":
+                return NODES.numberNode(0);
+            case "boolean":
+                return NODES.booleanNode(false);
+            case "array":
+                return NODES.arrayNode();
+            case "object":
+                return NODES.objectNode();
+            default:
+                return NODES.textNode("");
+        }
+    }
+
+    /**
+     * Convierte un ejemplo declarado en el contrato (String, número, mapa, nodo...) a JSON
+     */
+    static JsonNode toNode(Object example) {
+        if (example instanceof JsonNode node) {
+            return node;
+        }
+        if (example instanceof String text) {
+            return NODES.textNode(text);
+        }
+        if (example instanceof Number || example instanceof Boolean
+                || example instanceof Map || example instanceof List) {
+            try {
+                return MAPPER.valueToTree(example);
+            } catch (IllegalArgumentException e) {
+                return NODES.textNode(example.toString());
+            }
+        }
+        // Fechas, UUID, etc. se representan con su forma textual
+        return NODES.textNode(example.toString());
+    }
+
+    /**
+     * Presupuesto de nodos por ejemplo generado; revisa el ParseGuard cada CHECKPOINT_INTERVAL nodos
+     */
+    private final class Budget {
+        private static final int CHECKPOINT_INTERVAL = 256;
+
+        private int used;
+        private int cycleCuts;
+        private int nextCheckpoint = CHECKPOINT_INTERVAL;
+
+        void consume(int nodes) {
+            used += nodes;
+            if (used > limits.maxExampleNodes()) {
+                throw new ContractRejectedException(ContractRejectedException.Reason.EXAMPLE_TOO_LARGE,
+                        "Ejemplo generado con más de " + limits.maxExampleNodes() + " nodos");
+            }
+            if (guard != null && used >= nextCheckpoint) {
+                nextCheckpoint = used + CHECKPOINT_INTERVAL;
+                guard.checkpoint();
+            }
+        }
+    }
+
+    /**
+     * Ejemplo de un componente; json sólo está presente si proviene del cache compartido
+     */
+    private record GeneratedExample(JsonNode node, int nodeCount, EncodedJson json) {
+    }
+}
@@ -0,0 +1,142 @@
+package org.project.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache global (entre contratos y versiones) de ejemplos generados para components/schemas
+ *
+ * La clave es la huella estructural del componente ({@link OpenApiFingerprinter}): su propia
+ * estructura más la de todo lo que referencia. Schemas idénticos en distintas APIs (Error,
+ * Pagination, Money...) se generan una sola vez y comparten el árbol y los bytes del ejemplo.
+ * LRU acotado por bytes estimados, como {@link OpenApiContractCache}.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class SharedExampleCache {
+
+    private static final ObjectWriter PRETTY_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+    private final long maxWeightBytes;
+
+    // accessOrder = true: el primer elemento es siempre el menos usado recientemente
+    private final LinkedHashMap<String, SharedExample> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeightBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SharedExampleCache(@Value("${openapi.parser.example-cache.max-bytes:33554432}") long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    /**
+     * false si el cache está deshabilitado (max-bytes = 0): no vale la pena calcular huellas
+     */
+    public boolean isEnabled() {
+        return maxWeightBytes > 0;
+    }
+
+    /**
+     * Obtiene el ejemplo de un componente por su huella estructural
+     *
+     * @return Ejemplo compartido (no modificar el árbol) o null si no existe
+     */
+    public synchronized SharedExample get(String structuralHash) {
+        SharedExample cached = entries.get(structuralHash);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Guarda el ejemplo de un componente, expulsando los menos usados si se supera el límite
+     *
+     * @return Entrada guardada (con el ejemplo ya codificado) o null si no cabe en el cache
+     */
+    public SharedExample put(String structuralHash, JsonNode node, int nodeCount) {
+        if (!isEnabled()) {
+            return null;
+        }
+        EncodedJson json;
+        try {
+            json = EncodedJson.of(PRETTY_WRITER.writeValueAsBytes(node));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el ejemplo compartido: {}", e.getMessage());
+            return null;
+        }
+        // Árbol JSON (~4 bytes de heap por byte serializado) + bytes codificados
+        long weight = 96 + 5L * json.length();
+        if (weight > maxWeightBytes) {
+            return null;
+        }
+
+        SharedExample example = new SharedExample(node, nodeCount, json, weight);
+        synchronized (this) {
+            SharedExample previous = entries.putIfAbsent(structuralHash, example);
+            if (previous != null) {
+                // Otro hilo lo generó antes: se comparte el suyo
+                return previous;
+            }
+            currentWeightBytes += weight;
+
+            Iterator<Map.Entry<String, SharedExample>> it = entries.entrySet().iterator();
+            while (currentWeightBytes > maxWeightBytes && it.hasNext()) {
+                Map.Entry<String, SharedExample> eldest = it.next();
+                currentWeightBytes -= eldest.getValue().weightBytes;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return example;
+    }
+
+    /**
+     * Vacía el cache (los contadores se conservan)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentWeightBytes = 0;
+    }
+
+    /**
+     * Estadísticas del cache: hits, misses, hitRate, evictions, entradas y peso actual
+     */
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("hitRate", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        stats.put("evictions", evictions.get());
+        stats.put("entries", entries.size());
+        stats.put("weightBytes", currentWeightBytes);
+        stats.put("maxWeightBytes", maxWeightBytes);
+        return stats;
+    }
+
+    /**
+     * Ejemplo compartido: árbol (para componerlo dentro de otros ejemplos) y bytes UTF-8 con formato
+     */
+    public record SharedExample(JsonNode node, int nodeCount, EncodedJson json, long weightBytes) {
+    }
+}
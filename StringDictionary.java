@@ -0,0 +1,47 @@
+package org.project.project.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de Strings canónicos (interning acotado)
+ *
+ * Los nombres y tipos de parámetros se repiten millones de veces entre versiones
+ * ("id", "page", "string"...); con el diccionario todas las ocurrencias comparten
+ * la misma instancia. Al llegar al máximo de entradas los valores nuevos se
+ * devuelven sin canonizar, para que nombres únicos no hagan crecer el diccionario.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public class StringDictionary {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public StringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Devuelve la instancia canónica del valor (o el propio valor si el diccionario está lleno)
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxEntries) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,131 @@
+package org.project.project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.project.project.model.entity.VersionAPI;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acceso de un usuario a las versiones de API según el proyecto al que pertenecen
+ *
+ * Un usuario ve las versiones de los proyectos públicos y de los proyectos en los que participa
+ * (directamente o por un equipo); sólo gestiona (mock, pruebas de carga, importación) las de
+ * los proyectos en los que participa.
+ *
+ * Las versiones visibles de cada usuario se cachean unos segundos (la búsqueda de endpoints las
+ * pide en cada consulta); se invalidan con {@link ProjectMembershipChangedEvent} y el TTL cubre
+ * las versiones y proyectos públicos nuevos, que no publican el evento.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Service
+public class VersionAccessService {
+
+    private static final String PARTICIPA = "(EXISTS (SELECT m FROM p.miembros m WHERE m.usuario.usuarioId = :usuarioId)"
+            + " OR EXISTS (SELECT e FROM p.equipos e JOIN e.miembros u WHERE u.usuarioId = :usuarioId))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${versions.visible-cache.ttl-seconds:30}")
+    private long visibleCacheTtlSeconds;
+
+    @Value("${versions.visible-cache.max-entries:10000}")
+    private int visibleCacheMaxEntries;
+
+    // accessOrder = true: el primer elemento es siempre el menos usado recientemente
+    private final LinkedHashMap<Long, VisibleVersions> visibleVersions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * IDs de las versiones que el usuario puede ver (no modificable; cacheado por usuario)
+     */
+    public Set<Long> versionesVisibles(Long usuarioId) {
+        long now = System.nanoTime();
+        synchronized (visibleVersions) {
+            VisibleVersions cached = visibleVersions.get(usuarioId);
+            if (cached != null && now - cached.expiresAtNanos < 0) {
+                return cached.versionIds;
+            }
+        }
+        Set<Long> versionIds = Set.copyOf(entityManager.createQuery(
+                        "SELECT v.versionId FROM VersionAPI v JOIN v.api a JOIN a.proyecto p"
+                                + " WHERE p.visibilidad = 'PUBLICO' OR " + PARTICIPA, Long.class)
+                .setParameter("usuarioId", usuarioId)
+                .getResultList());
+        if (visibleCacheTtlSeconds > 0 && visibleCacheMaxEntries > 0) {
+            synchronized (visibleVersions) {
+                visibleVersions.put(usuarioId, new VisibleVersions(versionIds,
+                        now + TimeUnit.SECONDS.toNanos(visibleCacheTtlSeconds)));
+                Iterator<Long> eldest = visibleVersions.keySet().iterator();
+                while (visibleVersions.size() > visibleCacheMaxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return versionIds;
+    }
+
+    /**
+     * Descarta las versiones visibles cacheadas de los usuarios afectados tras el commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        synchronized (visibleVersions) {
+            if (event.affectsAllUsers()) {
+                visibleVersions.clear();
+            } else {
+                event.userIds().forEach(visibleVersions::remove);
+            }
+        }
+    }
+
+    /**
+     * Versión si el usuario participa en su proyecto; vacío si no existe o no tiene acceso
+     */
+    @Transactional(readOnly = true)
+    public Optional<VersionAPI> versionGestionable(Long usuarioId, Long versionId) {
+        return entityManager.createQuery(
+                        "SELECT v FROM VersionAPI v JOIN FETCH v.api a JOIN a.proyecto p"
+                                + " WHERE v.versionId = :versionId AND " + PARTICIPA, VersionAPI.class)
+                .setParameter("versionId", versionId)
+                .setParameter("usuarioId", usuarioId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public boolean puedeGestionar(Long usuarioId, Long versionId) {
+        return versionGestionable(usuarioId, versionId).isPresent();
+    }
+
+    /**
+     * De las versiones indicadas, las que el usuario puede gestionar (una sola consulta)
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> versionesGestionables(Long usuarioId, Collection<Long> versionIds) {
+        if (versionIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(entityManager.createQuery(
+                        "SELECT v.versionId FROM VersionAPI v JOIN v.api a JOIN a.proyecto p"
+                                + " WHERE v.versionId IN :versionIds AND " + PARTICIPA, Long.class)
+                .setParameter("versionIds", versionIds)
+                .setParameter("usuarioId", usuarioId)
+                .getResultList());
+    }
+
+    private record VisibleVersions(Set<Long> versionIds, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,38 @@
+package org.project.project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Contrato OpenAPI guardado de cada versión de API
+ *
+ * Los procesos que trabajan sobre versiones existentes (importación masiva, pruebas de carga)
+ * leen el contrato desde aquí en lugar de recibirlo del cliente, y sólo cuando lo necesitan.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Service
+public class VersionContractService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Contrato (YAML o JSON) de la versión; vacío si la versión no existe o no tiene contrato
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> contratoDeVersion(Long versionId) {
+        return entityManager.createQuery(
+                        "SELECT v.contratoApi FROM VersionAPI v WHERE v.versionId = :versionId", String.class)
+                .setParameter("versionId", versionId)
+                .getResultStream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+}
@@ -0,0 +1,69 @@
+package org.project.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.project.project.model.entity.VersionAPI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limpia el estado en memoria derivado del contrato de una versión cuando ésta se elimina
+ *
+ * Se registra como listener post-commit de Hibernate, así que cubre cualquier camino que borre
+ * la entidad VersionAPI (repositorio o EntityManager) sin que cada servicio tenga que avisar, y
+ * sólo actúa si la transacción confirma. Los DELETE masivos por JPQL no pasan por aquí.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@Slf4j
+@Component
+public class VersionDeletionListener implements PostCommitDeleteEventListener {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    @Autowired
+    private EndpointCatalogStore endpointCatalogStore;
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!(event.getEntity() instanceof VersionAPI version)) {
+            return;
+        }
+        Long versionId = version.getVersionId();
+        openApiParserService.forgetIncrementalState(versionId);
+        // Sale del catálogo persistente (en el próximo flush) y del índice de búsqueda
+        endpointCatalogStore.remove(versionId);
+        log.debug("Estado derivado del contrato descartado para la versión eliminada {}", versionId);
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // La versión sigue existiendo: no hay nada que limpiar
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return VersionAPI.class.isAssignableFrom(persister.getMappedClass());
+    }
+}
@@ -0,0 +1,104 @@
+package org.project.project.controller.rest;
+
+import org.project.project.model.entity.Usuario;
+import org.project.project.service.BulkContractImportService;
+import org.project.project.service.UserService;
+import org.project.project.service.VersionAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller para la importación masiva de contratos OpenAPI
+ * Re-parsea los contratos guardados de varias versiones y actualiza el catálogo de endpoints y el índice de búsqueda
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/contracts/import")
+public class BulkContractImportController {
+
+    @Autowired
+    private BulkContractImportService bulkContractImportService;
+
+    @Autowired
+    private VersionAccessService versionAccessService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * POST /api/contracts/import
+     * Encola la importación de las versiones del body (lista de versionId, como mucho
+     * openapi.import.max-versions); sólo versiones de proyectos en los que participa el usuario
+     *
+     * Request: [12, 15, 31]
+     *
+     * Response (202):
+     * {
+     *   "jobId": "6f1c...",
+     *   "statusUrl": "/api/contracts/import/6f1c..."
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> importContracts(@RequestBody List<Long> versionIds,
+                                                               Principal principal) {
+        Map<String, Object> response = new HashMap<>();
+        Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
+        List<Long> requested = versionIds.stream().distinct().toList();
+
+        Set<Long> manageable = versionAccessService.versionesGestionables(currentUser.getUsuarioId(), requested);
+        List<Long> forbidden = requested.stream().filter(versionId -> !manageable.contains(versionId)).toList();
+        if (!forbidden.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "No tiene acceso a las versiones " + forbidden);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        try {
+            String jobId = bulkContractImportService.submit(currentUser.getUsuarioId(), requested);
+            response.put("jobId", jobId);
+            response.put("statusUrl", "/api/contracts/import/" + jobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (RejectedExecutionException e) {
+            response.put("success", false);
+            response.put("message", "Demasiadas importaciones en proceso, inténtelo más tarde");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+    }
+
+    /**
+     * GET /api/contracts/import/{jobId}
+     * Estado y avance de la importación; al terminar incluye el resultado por versión
+     *
+     * Response:
+     * {
+     *   "jobId": "6f1c...",
+     *   "status": "COMPLETED",
+     *   "processed": 3,
+     *   "total": 3,
+     *   "imported": 2,
+     *   "results": [{ "id": "12", "status": "OK", "endpointCount": 40, "durationMs": 85, "error": null }]
+     * }
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String jobId, Principal principal) {
+        Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
+        return bulkContractImportService.getStatus(jobId, currentUser.getUsuarioId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,74 @@
+package org.project.project.controller.rest;
+
+import org.project.project.service.ContractBundleResolver;
+import org.project.project.service.ContractBundleResolver.ContractBundle;
+import org.project.project.service.ContractRejectedException;
+import org.project.project.service.OpenApiParserService;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller para contratos OpenAPI repartidos en varios archivos (bundle zip)
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/contracts/bundles")
+public class ContractBundleController {
+
+    @Autowired
+    private ContractBundleResolver contractBundleResolver;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    /**
+     * POST /api/contracts/bundles?root=api/openapi.yaml
+     * Parsea un bundle zip (Content-Type: application/zip); sin root se busca openapi.yaml/json
+     *
+     * Response:
+     * {
+     *   "success": true,
+     *   "root": "api/openapi.yaml",
+     *   "files": 12,
+     *   "endpoints": [...]
+     * }
+     */
+    @PostMapping(consumes = {"application/zip", "application/octet-stream"})
+    public ResponseEntity<Map<String, Object>> parse(@RequestBody byte[] zip,
+                                                     @RequestParam(required = false) String root) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ContractBundle bundle = contractBundleResolver.readZip(new ByteArrayInputStream(zip), root,
+                    openApiParserService.getLimits().maxContractBytes());
+            List<EndpointInfo> endpoints = contractBundleResolver.parseBundle(bundle);
+            response.put("success", true);
+            response.put("root", bundle.root());
+            response.put("files", bundle.files().size());
+            response.put("endpoints", endpoints);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | ContractRejectedException | IOException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * GET /api/contracts/bundles/cache-stats
+     * Aciertos del cache de documentos referenciados (compartido entre contratos)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(contractBundleResolver.getDocumentCacheStats());
+    }
+}
@@ -0,0 +1,128 @@
+package org.project.project.controller.rest;
+
+import org.project.project.model.entity.Usuario;
+import org.project.project.model.entity.VersionAPI;
+import org.project.project.service.ContractLoadTestService;
+import org.project.project.service.ContractLoadTestService.LoadTestConfig;
+import org.project.project.service.ContractRejectedException;
+import org.project.project.service.UserService;
+import org.project.project.service.VersionAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller de pruebas de carga dirigidas por contrato
+ * Permite a los equipos medir la latencia de sus versiones desplegadas desde el portal
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/load-tests")
+public class ContractLoadTestController {
+
+    @Autowired
+    private ContractLoadTestService contractLoadTestService;
+
+    @Autowired
+    private VersionAccessService versionAccessService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * POST /api/load-tests
+     * Inicia una prueba de carga contra una versión de un proyecto en el que participa el usuario
+     * con los endpoints de su contrato guardado (targetUrl es opcional: por defecto la URL
+     * desplegada de la versión)
+     *
+     * Body:
+     * {
+     *   "versionId": 12,
+     *   "targetUrl": "https://orders-v1-abc.a.run.app/v1",
+     *   "rps": 100,
+     *   "durationSeconds": 60,
+     *   "weights": { "GET /users": 5, "POST /users": 1 }
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start(@RequestBody LoadTestConfig config, Principal principal) {
+        Map<String, Object> response = new HashMap<>();
+        if (config.getVersionId() == null) {
+            response.put("success", false);
+            response.put("message", "versionId es obligatorio");
+            return ResponseEntity.badRequest().body(response);
+        }
+        Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
+        Optional<VersionAPI> version = versionAccessService.versionGestionable(currentUser.getUsuarioId(),
+                config.getVersionId());
+        if (version.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "No tiene acceso a la versión " + config.getVersionId());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+        try {
+            String runId = contractLoadTestService.start(config, version.get(), currentUser.getUsuarioId());
+            response.put("runId", runId);
+            response.put("reportUrl", "/api/load-tests/" + runId);
+            response.put("histogramUrl", "/api/load-tests/" + runId + "/histogram");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException | ContractRejectedException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        }
+    }
+
+    /**
+     * GET /api/load-tests/{runId}
+     * Estado y latencias p50/p90/p99/p999 por endpoint (se puede consultar mientras corre); sólo
+     * para quien inició la prueba
+     */
+    @GetMapping("/{runId}")
+    public ResponseEntity<Map<String, Object>> report(@PathVariable String runId, Principal principal) {
+        return contractLoadTestService.getReport(runId, currentUserId(principal))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/load-tests/{runId}/histogram?endpoint=GET /users
+     * Distribución de percentiles en formato HdrHistogram (texto plano); sin endpoint, la total
+     */
+    @GetMapping(value = "/{runId}/histogram", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> histogram(@PathVariable String runId,
+                                            @RequestParam(required = false) String endpoint,
+                                            Principal principal) {
+        return contractLoadTestService.getPercentileDistribution(runId, currentUserId(principal), endpoint)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * DELETE /api/load-tests/{runId}
+     * Detiene una prueba en curso iniciada por el usuario
+     */
+    @DeleteMapping("/{runId}")
+    public ResponseEntity<Void> stop(@PathVariable String runId, Principal principal) {
+        return contractLoadTestService.stop(runId, currentUserId(principal))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private Long currentUserId(Principal principal) {
+        return userService.obtenerUsuarioActualSinUsername(principal).getUsuarioId();
+    }
+}
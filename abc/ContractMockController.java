@@ -0,0 +1,247 @@
+package org.project.project.controller.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.project.project.model.entity.Usuario;
+import org.project.project.service.ContractMockService;
+import org.project.project.service.ContractMockService.MockRequest;
+import org.project.project.service.ContractMockService.MockResponse;
+import org.project.project.service.ContractRejectedException;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+import org.project.project.service.UserService;
+import org.project.project.service.VersionAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller del mock server embebido
+ * Permite a los equipos frontend probar contra el contrato de una versión antes de que exista el servicio real
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/mock")
+public class ContractMockController {
+
+    /**
+     * Cabecera con la que el cliente pide un código de respuesta declarado distinto del exitoso
+     */
+    public static final String MOCK_STATUS_HEADER = "X-Mock-Status";
+
+    private static final byte[] NOT_FOUND_BODY =
+            "{\"success\":false,\"message\":\"Ruta no definida en el contrato\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private ContractMockService contractMockService;
+
+    @Autowired
+    private VersionAccessService versionAccessService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * POST /api/mock/versions/{versionId}
+     * Publica el mock de una versión a partir de su contrato OpenAPI (YAML o JSON en el body);
+     * sólo para versiones de proyectos en los que participa el usuario
+     */
+    @PostMapping("/versions/{versionId}")
+    public ResponseEntity<Map<String, Object>> publish(@PathVariable Long versionId, @RequestBody String contract,
+                                                       Principal principal) {
+        Map<String, Object> response = new HashMap<>();
+        if (!puedeGestionar(principal, versionId)) {
+            return forbidden(response, versionId);
+        }
+        int routes;
+        try {
+            routes = contractMockService.publish(versionId, contract);
+        } catch (IllegalArgumentException | ContractRejectedException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        response.put("success", true);
+        response.put("versionId", versionId);
+        response.put("routes", routes);
+        response.put("baseUrl", "/api/mock/" + versionId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /api/mock/versions/{versionId}
+     * Retira el mock de una versión
+     */
+    @DeleteMapping("/versions/{versionId}")
+    public ResponseEntity<Map<String, Object>> unpublish(@PathVariable Long versionId, Principal principal) {
+        Map<String, Object> response = new HashMap<>();
+        if (!puedeGestionar(principal, versionId)) {
+            return forbidden(response, versionId);
+        }
+        if (!contractMockService.unpublish(versionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        response.put("success", true);
+        response.put("versionId", versionId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/mock/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(contractMockService.getStats());
+    }
+
+    /**
+     * Cualquier método sobre /api/mock/{versionId}/** responde con el ejemplo del endpoint del contrato
+     *
+     * Ejemplo: GET /api/mock/10/users/42 -> responseExample de GET /users/{id}
+     * Con "X-Mock-Status: 404" responde el ejemplo de la respuesta 404 declarada (400 si no existe).
+     * Si los parámetros o el body no cumplen el contrato responde 400 con los errores.
+     */
+    @RequestMapping("/{versionId:\\d+}/**")
+    public void serve(@PathVariable("versionId") String rawVersionId, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        // El prefijo se toma tal como vino en la URL ("/api/mock/010" también es la versión 10)
+        String prefix = request.getContextPath() + "/api/mock/" + rawVersionId;
+        String path = request.getRequestURI().substring(prefix.length());
+
+        MockResponse mock;
+        try {
+            mock = contractMockService.resolve(Long.valueOf(rawVersionId), request.getMethod(), path,
+                    request.getHeader(MOCK_STATUS_HEADER), mockRequest(request));
+        } catch (IllegalArgumentException e) {
+            write(response, HttpServletResponse.SC_BAD_REQUEST, errorBody(e.getMessage()),
+                    MediaType.APPLICATION_JSON_VALUE, false);
+            return;
+        }
+        if (mock == null) {
+            write(response, HttpServletResponse.SC_NOT_FOUND, NOT_FOUND_BODY, MediaType.APPLICATION_JSON_VALUE, false);
+            return;
+        }
+        if (mock.body() == null) {
+            response.setStatus(mock.status());
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = mock.gzipBody() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        write(response, mock.status(), gzip ? mock.gzipBody() : mock.body(), mock.contentType(), gzip);
+    }
+
+    /**
+     * Vista de la petición para validarla; el body sólo se lee si la operación tiene validador
+     */
+    private static MockRequest mockRequest(HttpServletRequest request) {
+        return new MockRequest() {
+            @Override
+            public String parameter(ParameterLocation location, String name) {
+                return switch (location) {
+                    case QUERY -> request.getParameter(name);
+                    case HEADER -> request.getHeader(name);
+                    case COOKIE -> cookie(request, name);
+                    case PATH -> null;
+                };
+            }
+
+            @Override
+            public JsonNode body() {
+                try {
+                    byte[] bytes = request.getInputStream().readAllBytes();
+                    if (bytes.length == 0) {
+                        return null;
+                    }
+                    if (!isJson(request.getContentType())) {
+                        return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    return MAPPER.readTree(bytes);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("El body no es un JSON válido");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * application/json o +json; sin Content-Type se asume JSON
+     */
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                    || (mediaType.getSubtype() != null && mediaType.getSubtype().endsWith("+json"));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String cookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(name)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean puedeGestionar(Principal principal, Long versionId) {
+        Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
+        return versionAccessService.puedeGestionar(currentUser.getUsuarioId(), versionId);
+    }
+
+    private static ResponseEntity<Map<String, Object>> forbidden(Map<String, Object> response, Long versionId) {
+        response.put("success", false);
+        response.put("message", "No tiene acceso a la versión " + versionId);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
+    private static byte[] errorBody(String message) throws IOException {
+        return MAPPER.writeValueAsBytes(Map.of("success", false, "message", message));
+    }
+
+    private static void write(HttpServletResponse response, int status, byte[] body, String contentType,
+                              boolean gzip) throws IOException {
+        response.setStatus(status);
+        response.setContentType(contentType);
+        response.setCharacterEncoding("UTF-8");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        OutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+}
@@ -0,0 +1,127 @@
+package org.project.project.controller.rest;
+
+import org.project.project.service.ContractParseJobService;
+import org.project.project.service.OpenApiParserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * REST Controller para el parseo asíncrono de contratos OpenAPI
+ * El upload devuelve un jobId al instante; el avance se consulta por polling o por SSE
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/contracts/parse-jobs")
+public class ContractParseJobController {
+
+    private static final long SSE_TIMEOUT_MS = 10 * 60 * 1000L;
+
+    @Autowired
+    private ContractParseJobService contractParseJobService;
+
+    @Autowired
+    private OpenApiParserService openApiParserService;
+
+    /**
+     * POST /api/contracts/parse-jobs
+     * Encola el parseo del contrato recibido en el body (YAML o JSON)
+     *
+     * Response (202):
+     * {
+     *   "jobId": "6f1c...",
+     *   "statusUrl": "/api/contracts/parse-jobs/6f1c..."
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submit(@RequestBody String contract) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String jobId = contractParseJobService.submit(contract);
+            response.put("jobId", jobId);
+            response.put("statusUrl", "/api/contracts/parse-jobs/" + jobId);
+            response.put("eventsUrl", "/api/contracts/parse-jobs/" + jobId + "/events");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            response.put("success", false);
+            response.put("message", "Demasiados contratos en proceso, inténtelo más tarde");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+    }
+
+    /**
+     * GET /api/contracts/parse-jobs/stats
+     * Límites de recursos del parser, contratos rechazados por motivo y estado de los caches
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("limits", openApiParserService.getLimits());
+        response.put("rejections", openApiParserService.getRejectionStats());
+        response.put("cache", openApiParserService.getCacheStats());
+        response.put("exampleCache", openApiParserService.getExampleCacheStats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/contracts/parse-jobs/{jobId}
+     * Estado y avance del trabajo (paths procesados / total)
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String jobId) {
+        return contractParseJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/contracts/parse-jobs/{jobId}/result
+     * Endpoints extraídos (sólo cuando el trabajo terminó correctamente)
+     */
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> result(@PathVariable String jobId) {
+        return contractParseJobService.getResult(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/contracts/parse-jobs/{jobId}/events
+     * Stream SSE con el avance del trabajo; se cierra al terminar
+     */
+    @GetMapping("/{jobId}/events")
+    public SseEmitter events(@PathVariable String jobId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+
+        Consumer<Map<String, Object>> listener = snapshot -> {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(snapshot));
+                Object status = snapshot.get("status");
+                if (status == ContractParseJobService.JobStatus.COMPLETED
+                        || status == ContractParseJobService.JobStatus.FAILED) {
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        emitter.onCompletion(() -> contractParseJobService.unsubscribe(jobId, listener));
+        emitter.onTimeout(() -> contractParseJobService.unsubscribe(jobId, listener));
+
+        if (!contractParseJobService.subscribe(jobId, listener)) {
+            emitter.completeWithError(new IllegalArgumentException("Trabajo no encontrado: " + jobId));
+        }
+        return emitter;
+    }
+}
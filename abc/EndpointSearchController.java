@@ -0,0 +1,81 @@
+package org.project.project.controller.rest;
+
+import org.project.project.model.entity.Usuario;
+import org.project.project.service.EndpointSearchIndex;
+import org.project.project.service.EndpointSearchIndex.SearchResult;
+import org.project.project.service.UserService;
+import org.project.project.service.VersionAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST Controller para buscar endpoints en todas las versiones de API del portal
+ *
+ * @author DevPortal Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/endpoints")
+public class EndpointSearchController {
+
+    @Autowired
+    private EndpointSearchIndex endpointSearchIndex;
+
+    @Autowired
+    private VersionAccessService versionAccessService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * GET /api/endpoints/search?q=orders id&prefix=true&limit=20
+     * Busca por fragmentos de path, summary o descripción; todos los términos deben coincidir.
+     * Sólo devuelve endpoints de versiones que el usuario puede ver (proyectos públicos o en los
+     * que participa). "truncated" indica que un prefijo demasiado corto sólo se expandió a sus
+     * términos más frecuentes: conviene afinar la búsqueda.
+     *
+     * Response:
+     * {
+     *   "query": "orders id",
+     *   "results": [{ "versionId": 12, "method": "GET", "path": "/orders/{id}", "summary": "...", "score": 7.4 }],
+     *   "count": 1,
+     *   "truncated": false,
+     *   "tookMs": 0.42
+     * }
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "true") boolean prefix,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+
+        long start = System.nanoTime();
+        Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
+        Set<Long> visibleVersions = versionAccessService.versionesVisibles(currentUser.getUsuarioId());
+        SearchResult results = endpointSearchIndex.search(query, prefix, limit, visibleVersions::contains);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", query);
+        response.put("results", results.hits());
+        response.put("count", results.hits().size());
+        response.put("truncated", results.truncated());
+        response.put("tookMs", (System.nanoTime() - start) / 1_000_000.0);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/endpoints/search/stats
+     * Versiones, endpoints y términos indexados
+     */
+    @GetMapping("/search/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(endpointSearchIndex.getStats());
+    }
+}
@@ -1,16 +1,26 @@
 package org.project.project.controller.rest;
 
+import org.project.project.service.ProjectCursor;
+import org.project.project.service.ProjectQueryExecutor;
 import org.project.project.service.ProjectService;
+import org.project.project.service.ProjectStatsCache;
 import org.project.project.service.UserService;
 import org.project.project.model.entity.Usuario;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * REST Controller para operaciones AJAX en proyectos
@@ -23,12 +33,23 @@ import java.util.Map;
 @RequestMapping("/api/projects")
 public class ProjectRestController {
 
+    /**
+     * Proyectos por página en todos los listados
+     */
+    private static final int PAGE_SIZE = 12;
+
     @Autowired
     private ProjectService projectService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ProjectStatsCache projectStatsCache;
+
+    @Autowired
+    private ProjectQueryExecutor projectQueryExecutor;
+
     /**
      * GET /api/projects/personal
      * Obtiene proyectos personales del usuario autenticado
@@ -37,6 +58,8 @@ public class ProjectRestController {
      * @param search Texto de búsqueda (opcional)
      * @param sort Orden: 'name', 'recent', 'oldest' (opcional, default: 'recent')
      * @param page Número de página 0-indexed (opcional, default: 0)
+     * @param cursor Cursor de la página siguiente (opcional; vacío = primera página). Si se envía,
+     *               se pagina por keyset y se ignora 'page'
      * @param principal Usuario autenticado
      * @return JSON con proyectos y metadata de paginación
      * 
@@ -52,6 +75,14 @@ public class ProjectRestController {
      *   "endIndex": 12,
      *   "totalProjects": 25
      * }
+     *
+     * Con cursor (GET /api/projects/personal?cursor=&sort=recent) no se calculan totales ni índices:
+     * {
+     *   "projects": [...],
+     *   "hasNext": true,
+     *   "nextCursor": "MQpyZWNlbnQK...",
+     *   "pageSize": 12
+     * }
      */
     @GetMapping("/personal")
     public ResponseEntity<Map<String, Object>> getPersonalProjects(
@@ -59,35 +90,24 @@ public class ProjectRestController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "recent") String sort,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             Principal principal) {
 
         // Obtener usuario autenticado
         Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
 
-        // Obtener proyectos paginados (12 por página)
-        List<Map<String, Object>> projects = projectService.obtenerProyectosPersonalesPaginado(
-            currentUser.getUsuarioId(), category, search, sort, page
-        );
-
-        // Obtener conteo total para calcular paginación
-        List<Map<String, Object>> allProjects = projectService.obtenerProyectosPersonales(
-            currentUser.getUsuarioId(), category, search, sort
-        );
-
-        Map<String, Object> stats = projectService.obtenerEstadisticasProyectosUsuario(currentUser.getUsuarioId());
+        if (cursor != null) {
+            // Paginación por keyset: el coste no depende de lo profundo de la página
+            return cursorResponse(sort, cursor, currentUser, position -> projectService.obtenerVentanaProyectosPersonales(
+                currentUser.getUsuarioId(), category, search, sort, position, PAGE_SIZE
+            ));
+        }
 
-        // Preparar respuesta con metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("projects", projects);
-        response.put("totalProjects", allProjects.size());
-        response.put("currentPage", page);
-        response.put("totalPages", (int) Math.ceil((double) allProjects.size() / 12));
-        response.put("hasNext", projects.size() >= 12);
-        response.put("startIndex", (page * 12) + 1);
-        response.put("endIndex", Math.min((page + 1) * 12, allProjects.size()));
-        response.put("stats", stats);
-        
-        return ResponseEntity.ok(response);
+        // Página de proyectos (12 por página) con su total: página + COUNT, sin cargar la lista completa;
+        // las estadísticas, si no están en cache, se consultan en paralelo
+        return pageResponse(currentUser, () -> projectService.obtenerPaginaProyectosPersonales(
+            currentUser.getUsuarioId(), category, search, sort, pageRequest(page)
+        ));
     }
 
     /**
@@ -98,6 +118,8 @@ public class ProjectRestController {
      * @param search Texto de búsqueda (opcional)
      * @param sort Orden: 'name', 'recent', 'oldest' (opcional, default: 'recent')
      * @param page Número de página 0-indexed (opcional, default: 0)
+     * @param cursor Cursor de la página siguiente (opcional; vacío = primera página). Si se envía,
+     *               se pagina por keyset y se ignora 'page'
      * @param principal Usuario autenticado
      * @return JSON con proyectos y metadata de paginación
      */
@@ -107,31 +129,21 @@ public class ProjectRestController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "recent") String sort,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             Principal principal) {
 
         Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
 
-        List<Map<String, Object>> projects = projectService.obtenerProyectosEquiposPaginado(
-            currentUser.getUsuarioId(), category, search, sort, page
-        );
-
-        List<Map<String, Object>> allProjects = projectService.obtenerProyectosEquipos(
-            currentUser.getUsuarioId(), category, search, sort
-        );
+        if (cursor != null) {
+            // Paginación por keyset: el coste no depende de lo profundo de la página
+            return cursorResponse(sort, cursor, currentUser, position -> projectService.obtenerVentanaProyectosEquipos(
+                currentUser.getUsuarioId(), category, search, sort, position, PAGE_SIZE
+            ));
+        }
 
-        Map<String, Object> stats = projectService.obtenerEstadisticasProyectosUsuario(currentUser.getUsuarioId());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("projects", projects);
-        response.put("totalProjects", allProjects.size());
-        response.put("currentPage", page);
-        response.put("totalPages", (int) Math.ceil((double) allProjects.size() / 12));
-        response.put("hasNext", projects.size() >= 12);
-        response.put("startIndex", (page * 12) + 1);
-        response.put("endIndex", Math.min((page + 1) * 12, allProjects.size()));
-        response.put("stats", stats);
-        
-        return ResponseEntity.ok(response);
+        return pageResponse(currentUser, () -> projectService.obtenerPaginaProyectosEquipos(
+            currentUser.getUsuarioId(), category, search, sort, pageRequest(page)
+        ));
     }
 
     /**
@@ -142,6 +154,8 @@ public class ProjectRestController {
      * @param search Texto de búsqueda (opcional)
      * @param sort Orden: 'name', 'recent', 'oldest' (opcional, default: 'recent')
      * @param page Número de página 0-indexed (opcional, default: 0)
+     * @param cursor Cursor de la página siguiente (opcional; vacío = primera página). Si se envía,
+     *               se pagina por keyset y se ignora 'page'
      * @param principal Usuario autenticado
      * @return JSON con proyectos y metadata de paginación
      */
@@ -151,31 +165,21 @@ public class ProjectRestController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "recent") String sort,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             Principal principal) {
 
         Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
 
-        List<Map<String, Object>> projects = projectService.obtenerOtrosProyectosPublicosPaginado(
-            currentUser.getUsuarioId(), category, search, sort, page
-        );
-
-        List<Map<String, Object>> allProjects = projectService.obtenerOtrosProyectosPublicos(
-            currentUser.getUsuarioId(), category, search, sort
-        );
+        if (cursor != null) {
+            // Paginación por keyset: el coste no depende de lo profundo de la página
+            return cursorResponse(sort, cursor, currentUser, position -> projectService.obtenerVentanaOtrosProyectosPublicos(
+                currentUser.getUsuarioId(), category, search, sort, position, PAGE_SIZE
+            ));
+        }
 
-        Map<String, Object> stats = projectService.obtenerEstadisticasProyectosUsuario(currentUser.getUsuarioId());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("projects", projects);
-        response.put("totalProjects", allProjects.size());
-        response.put("currentPage", page);
-        response.put("totalPages", (int) Math.ceil((double) allProjects.size() / 12));
-        response.put("hasNext", projects.size() >= 12);
-        response.put("startIndex", (page * 12) + 1);
-        response.put("endIndex", Math.min((page + 1) * 12, allProjects.size()));
-        response.put("stats", stats);
-        
-        return ResponseEntity.ok(response);
+        return pageResponse(currentUser, () -> projectService.obtenerPaginaOtrosProyectosPublicos(
+            currentUser.getUsuarioId(), category, search, sort, pageRequest(page)
+        ));
     }
 
     /**
@@ -186,6 +190,8 @@ public class ProjectRestController {
      * @param search Texto de búsqueda (opcional)
      * @param sort Orden: 'name', 'recent', 'oldest' (opcional, default: 'recent')
      * @param page Número de página 0-indexed (opcional, default: 0)
+     * @param cursor Cursor de la página siguiente (opcional; vacío = primera página). Si se envía,
+     *               se pagina por keyset y se ignora 'page'
      * @param principal Usuario autenticado
      * @return JSON con proyectos y metadata de paginación
      */
@@ -195,33 +201,22 @@ public class ProjectRestController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "recent") String sort,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             Principal principal) {
 
         Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
 
-        // Obtener proyectos paginados donde participo (12 por página)
-        List<Map<String, Object>> projects = projectService.obtenerProyectosEnLosQueParticipoPersonalesYEquiposPaginado(
-            currentUser.getUsuarioId(), category, search, sort, page
-        );
+        if (cursor != null) {
+            // Paginación por keyset: el coste no depende de lo profundo de la página
+            return cursorResponse(sort, cursor, currentUser, position -> projectService.obtenerVentanaProyectosEnLosQueParticipoPersonalesYEquipos(
+                currentUser.getUsuarioId(), category, search, sort, position, PAGE_SIZE
+            ));
+        }
 
-        // Obtener conteo total para calcular paginación
-        List<Map<String, Object>> allProjects = projectService.obtenerProyectosEnLosQueParticipoPersonalesYEquipos(
-            currentUser.getUsuarioId(), category, search, sort
-        );
-
-        Map<String, Object> stats = projectService.obtenerEstadisticasProyectosUsuario(currentUser.getUsuarioId());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("projects", projects);
-        response.put("totalProjects", allProjects.size());
-        response.put("currentPage", page);
-        response.put("totalPages", (int) Math.ceil((double) allProjects.size() / 12));
-        response.put("hasNext", projects.size() >= 12);
-        response.put("startIndex", (page * 12) + 1);
-        response.put("endIndex", Math.min((page + 1) * 12, allProjects.size()));
-        response.put("stats", stats);
-        
-        return ResponseEntity.ok(response);
+        // Página de proyectos donde participo (12 por página) con su total
+        return pageResponse(currentUser, () -> projectService.obtenerPaginaProyectosEnLosQueParticipoPersonalesYEquipos(
+            currentUser.getUsuarioId(), category, search, sort, pageRequest(page)
+        ));
     }
 
     /**
@@ -241,7 +236,135 @@ public class ProjectRestController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getProjectStats(Principal principal) {
         Usuario currentUser = userService.obtenerUsuarioActualSinUsername(principal);
-        Map<String, Object> stats = projectService.obtenerEstadisticasProyectosUsuario(currentUser.getUsuarioId());
+        Map<String, Object> stats = userStats(currentUser);
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Listado paginado: la página (con su total) se consulta en el hilo del request; las
+     * estadísticas salen del cache o, si no están, se consultan en paralelo con el deadline de
+     * {@link ProjectQueryExecutor}
+     */
+    private ResponseEntity<Map<String, Object>> pageResponse(Usuario user, Supplier<Page<Map<String, Object>>> pageQuery) {
+        Map<String, Object> cachedStats = projectStatsCache.getIfPresent(user.getUsuarioId());
+        if (cachedStats != null) {
+            return ResponseEntity.ok(pageBody(pageQuery.get(), cachedStats));
+        }
+        try (ProjectQueryExecutor.QueryScope scope = projectQueryExecutor.open()) {
+            Supplier<Map<String, Object>> stats = scope.fork(() -> userStats(user));
+            Page<Map<String, Object>> projects = pageQuery.get();
+            scope.join();
+            return ResponseEntity.ok(pageBody(projects, stats.get()));
+        } catch (TimeoutException | InterruptedException e) {
+            return queryTimeout(e);
+        }
+    }
+
+    /**
+     * Listado por cursor: proyectos de la ventana y cursor de la siguiente; la ventana se consulta
+     * en el hilo del request y las estadísticas, si no están en cache, en paralelo (400 si el
+     * cursor está malformado o se generó con otro orden)
+     */
+    private ResponseEntity<Map<String, Object>> cursorResponse(
+            String sort, String cursor, Usuario user,
+            Function<KeysetScrollPosition, Window<Map<String, Object>>> query) {
+        KeysetScrollPosition position;
+        try {
+            position = ProjectCursor.decode(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
+        }
+
+        Map<String, Object> cachedStats = projectStatsCache.getIfPresent(user.getUsuarioId());
+        if (cachedStats != null) {
+            return windowResponse(sort, query.apply(position), cachedStats);
+        }
+        try (ProjectQueryExecutor.QueryScope scope = projectQueryExecutor.open()) {
+            Supplier<Map<String, Object>> stats = scope.fork(() -> userStats(user));
+            Window<Map<String, Object>> window = query.apply(position);
+            scope.join();
+            return windowResponse(sort, window, stats.get());
+        } catch (TimeoutException | InterruptedException e) {
+            return queryTimeout(e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> windowResponse(String sort, Window<Map<String, Object>> window,
+                                                                      Map<String, Object> stats) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            try {
+                nextCursor = ProjectCursor.encode(sort, window.positionAt(window.size() - 1));
+            } catch (IllegalArgumentException e) {
+                // Claves de la última fila que no encajan con el orden: 400 y no 500
+                return invalidCursor(e);
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("projects", window.getContent());
+        response.put("hasNext", window.hasNext());
+        response.put("nextCursor", nextCursor);
+        response.put("pageSize", PAGE_SIZE);
+        response.put("stats", stats);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalidCursor(IllegalArgumentException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * 503 cuando las consultas no terminan antes del deadline (ya fueron canceladas)
+     */
+    private static ResponseEntity<Map<String, Object>> queryTimeout(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "No se pudieron obtener los proyectos a tiempo, intente nuevamente");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    /**
+     * GET /api/projects/stats/cache
+     * Métricas del cache de estadísticas por usuario (hits, misses, invalidaciones...)
+     */
+    @GetMapping("/stats/cache")
+    public ResponseEntity<Map<String, Object>> getProjectStatsCacheMetrics() {
+        return ResponseEntity.ok(projectStatsCache.getStats());
+    }
+
+    /**
+     * Estadísticas del usuario desde el cache (se invalidan al cambiar sus proyectos o equipos)
+     */
+    private Map<String, Object> userStats(Usuario user) {
+        return projectStatsCache.get(user.getUsuarioId(),
+                () -> projectService.obtenerEstadisticasProyectosUsuario(user.getUsuarioId()));
+    }
+
+    private static PageRequest pageRequest(int page) {
+        return PageRequest.of(Math.max(page, 0), PAGE_SIZE);
+    }
+
+    /**
+     * Respuesta de un listado paginado: proyectos de la página y metadata de paginación
+     * (el total viene de la propia página, no de cargar el listado completo)
+     */
+    private static Map<String, Object> pageBody(Page<Map<String, Object>> projects, Map<String, Object> stats) {
+        long startIndex = projects.getPageable().getOffset();
+        Map<String, Object> response = new HashMap<>();
+        response.put("projects", projects.getContent());
+        response.put("totalProjects", projects.getTotalElements());
+        response.put("currentPage", projects.getNumber());
+        response.put("totalPages", projects.getTotalPages());
+        response.put("hasNext", projects.hasNext());
+        response.put("startIndex", startIndex + 1);
+        response.put("endIndex", Math.min(startIndex + projects.getSize(), projects.getTotalElements()));
+        response.put("stats", stats);
+        return response;
+    }
 }
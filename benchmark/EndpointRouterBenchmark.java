@@ -0,0 +1,104 @@
+package org.project.project.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project.project.service.EndpointRouter;
+import org.project.project.service.OpenApiParserService.EndpointInfo;
+import org.project.project.service.OpenApiParserService.OperationMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EndpointRouter (trie) frente al matching lineal ingenuo sobre la lista de endpoints
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EndpointRouterBenchmark {
+
+    @Param({"100", "5000", "20000"})
+    private int operations;
+
+    private List<EndpointInfo> endpoints;
+    private EndpointRouter router;
+    private String[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        endpoints = new ArrayList<>(operations);
+        for (int i = 0; i < operations / 2; i++) {
+            endpoints.add(endpoint(OperationMethod.GET, "/resource" + i + "/{id}/items/{itemId}"));
+            endpoints.add(endpoint(OperationMethod.GET, "/resource" + i));
+        }
+        router = EndpointRouter.compile(endpoints);
+
+        requests = new String[1024];
+        for (int i = 0; i < requests.length; i++) {
+            int target = (int) ((long) i * 7919 % (operations / 2));
+            requests[i] = "/resource" + target + "/" + i + "/items/" + (i * 31);
+        }
+    }
+
+    @Benchmark
+    public EndpointRouter.RouteMatch trie() {
+        return router.match(OperationMethod.GET, nextRequest());
+    }
+
+    @Benchmark
+    public EndpointInfo linear() {
+        String request = nextRequest();
+        for (EndpointInfo endpoint : endpoints) {
+            if (endpoint.getMethod() == OperationMethod.GET && matchesTemplate(endpoint.getPath(), request)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private String nextRequest() {
+        next = (next + 1) & (requests.length - 1);
+        return requests[next];
+    }
+
+    /**
+     * Matching ingenuo: separa ambos paths en segmentos y compara uno a uno
+     */
+    private static boolean matchesTemplate(String template, String path) {
+        String[] templateSegments = template.split("/");
+        String[] pathSegments = path.split("/");
+        if (templateSegments.length != pathSegments.length) {
+            return false;
+        }
+        for (int i = 0; i < templateSegments.length; i++) {
+            if (!templateSegments[i].startsWith("{") && !templateSegments[i].equals(pathSegments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static EndpointInfo endpoint(OperationMethod method, String path) {
+        EndpointInfo endpoint = new EndpointInfo();
+        endpoint.setMethod(method);
+        endpoint.setPath(path);
+        return endpoint;
+    }
+}
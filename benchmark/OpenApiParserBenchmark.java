@@ -0,0 +1,145 @@
+package org.project.project.benchmark;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.project.project.service.MediaTypeExampleRegistry;
+import org.project.project.service.OpenApiContractCache;
+import org.project.project.service.OpenApiParserService;
+import org.project.project.service.SchemaExampleGenerator;
+import org.project.project.service.SharedExampleCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH de OpenApiParserService
+ *
+ * Mide parseContract (sin caches), la extracción streaming y la generación de ejemplos
+ * sobre contratos sintéticos de 10 paths (SMALL), 1k (MEDIUM) y 10k con schemas profundos
+ * (LARGE, varias decenas de MB) en JSON y YAML. Los límites del parser se elevan para que
+ * LARGE se parsee completo: un contrato rechazado hace fallar el benchmark en lugar de medir
+ * el rechazo. Throughput y SampleTime (percentiles de latencia); la tasa de asignación
+ * se obtiene con el profiler gc, que {@link #main} activa por defecto.
+ *
+ * Ejecución: java -jar benchmarks.jar OpenApiParserBenchmark -prof gc
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OpenApiParserBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SyntheticContracts.Size size;
+
+    @Param({"JSON", "YAML"})
+    private SyntheticContracts.Format format;
+
+    private AnnotationConfigApplicationContext context;
+    private OpenApiParserService parser;
+    private String contract;
+    private OpenAPI openAPI;
+    private List<Schema> responseSchemas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contract = SyntheticContracts.generate(size, format);
+
+        // Caches deshabilitados (0 bytes) para medir siempre el parseo completo, y límites por
+        // encima del contrato LARGE (los de producción lo rechazarían por tamaño)
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("openapi.parser.cache.max-bytes", "0",
+                        "openapi.parser.example-cache.max-bytes", "0",
+                        "openapi.parser.limits.max-contract-bytes", String.valueOf(256L * 1024 * 1024),
+                        "openapi.parser.limits.max-paths", String.valueOf(size.paths),
+                        "openapi.parser.limits.max-parse-ms", String.valueOf(TimeUnit.MINUTES.toMillis(10)))));
+        context.register(MediaTypeExampleRegistry.class, OpenApiContractCache.class, SharedExampleCache.class,
+                OpenApiParserService.class);
+        context.refresh();
+        parser = context.getBean(OpenApiParserService.class);
+
+        openAPI = new OpenAPIV3Parser().readContents(contract).getOpenAPI();
+        responseSchemas = new ArrayList<>();
+        openAPI.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation ->
+                responseSchemas.add(operation.getResponses().get("200")
+                        .getContent().get("application/json").getSchema())));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Parseo + extracción completa (lo que paga cada import de contrato)
+     */
+    @Benchmark
+    public List<OpenApiParserService.EndpointInfo> parseContract() {
+        return parser.parseContract(contract, OpenApiParserService.ParseProgress.NONE);
+    }
+
+    /**
+     * Extracción streaming consumida completa (mismo trabajo, sin lista intermedia)
+     */
+    @Benchmark
+    public void streamContract(Blackhole blackhole) {
+        parser.forEachEndpoint(contract, blackhole::consume);
+    }
+
+    /**
+     * Sólo el parser de Swagger: línea base para separar parseo de extracción
+     */
+    @Benchmark
+    public OpenAPI readContents() {
+        return new OpenAPIV3Parser().readContents(contract).getOpenAPI();
+    }
+
+    /**
+     * Generación de ejemplos de respuesta para todas las operaciones del contrato
+     */
+    @Benchmark
+    public void generateExamples(Blackhole blackhole) {
+        SchemaExampleGenerator generator = new SchemaExampleGenerator(openAPI, parser.getLimits(), null);
+        for (Schema schema : responseSchemas) {
+            blackhole.consume(generator.encode(schema));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OpenApiParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
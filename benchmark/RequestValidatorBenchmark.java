@@ -0,0 +1,63 @@
+package org.project.project.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project.project.service.CompiledRequestValidator;
+import org.project.project.service.CompiledRequestValidator.RequestView;
+import org.project.project.service.OpenApiParserService.ParameterLocation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de CompiledRequestValidator (objetivo: microsegundos)
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestValidatorBenchmark {
+
+    private CompiledRequestValidator validator;
+    private RequestView request;
+    private JsonNode body;
+
+    @Setup
+    public void setUp() throws Exception {
+        String contract = SyntheticContracts.generate(1, 4, SyntheticContracts.Format.JSON);
+        OpenAPI openAPI = new OpenAPIV3Parser().readContents(contract).getOpenAPI();
+        Operation put = openAPI.getPaths().get("/resource0/{id}").getPut();
+        validator = CompiledRequestValidator.compile(openAPI, put);
+
+        request = (location, name) -> location == ParameterLocation.PATH && "id".equals(name) ? "42" : null;
+        body = new ObjectMapper().readTree("{\"id\":42,\"name\":\"x\",\"status\":\"ACTIVE\",\"tags\":[\"a\"],"
+                + "\"child\":{\"id\":1,\"name\":\"y\",\"status\":\"INACTIVE\",\"tags\":[],"
+                + "\"child\":{\"id\":2,\"name\":\"z\",\"status\":\"ACTIVE\",\"tags\":[]}}}");
+    }
+
+    /**
+     * Validación con el body ya parseado (el parseo JSON lo hace igualmente el gateway)
+     */
+    @Benchmark
+    public List<String> validate() {
+        return validator.validate(request, body);
+    }
+}
@@ -0,0 +1,138 @@
+package org.project.project.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generador de contratos OpenAPI sintéticos para los benchmarks
+ *
+ * Cada recurso aporta dos paths: /resourceN/{id} (GET con parámetros path/query y PUT con
+ * body) y /resourceN (GET paginado y POST con body); el número de paths generado es
+ * exactamente el pedido. Los schemas se encadenan por $ref con la profundidad indicada y
+ * comparten componentes comunes (Error, Pagination), como en los contratos reales del portal.
+ *
+ * @author Dev Portal Team
+ * @since 2025-12-14
+ */
+public final class SyntheticContracts {
+
+    /**
+     * Tamaños de contrato usados en los benchmarks (número total de paths)
+     */
+    public enum Size {
+        SMALL(10, 2), MEDIUM(1_000, 3), LARGE(10_000, 6);
+
+        final int paths;
+        final int schemaDepth;
+
+        Size(int paths, int schemaDepth) {
+            this.paths = paths;
+            this.schemaDepth = schemaDepth;
+        }
+    }
+
+    public enum Format {
+        JSON, YAML
+    }
+
+    private SyntheticContracts() {
+    }
+
+    public static String generate(Size size, Format format) {
+        return generate(size.paths, size.schemaDepth, format);
+    }
+
+    public static String generate(int pathCount, int schemaDepth, Format format) {
+        Map<String, Object> contract = new LinkedHashMap<>();
+        contract.put("openapi", "3.0.3");
+        contract.put("info", Map.of("title", "Synthetic API", "version", "1.0.0"));
+
+        int resourceCount = (pathCount + 1) / 2;
+        Map<String, Object> paths = new LinkedHashMap<>();
+        for (int i = 0; i < resourceCount; i++) {
+            String resource = "resource" + i;
+            paths.put("/" + resource + "/{id}", Map.of(
+                    "get", operation("Obtener " + resource, List.of(
+                            parameter("id", "path", true, "integer"),
+                            parameter("expand", "query", false, "string")), null, entityRef(i, schemaDepth)),
+                    "put", operation("Actualizar " + resource, List.of(
+                            parameter("id", "path", true, "integer")), entityRef(i, schemaDepth), entityRef(i, schemaDepth))));
+            if (paths.size() == pathCount) {
+                break; // Número impar de paths: el último recurso sólo tiene /resourceN/{id}
+            }
+            paths.put("/" + resource, Map.of(
+                    "get", operation("Listar " + resource, List.of(
+                            parameter("page", "query", false, "integer"),
+                            parameter("size", "query", false, "integer")), null, "#/components/schemas/Pagination"),
+                    "post", operation("Crear " + resource, List.of(), entityRef(i, schemaDepth), entityRef(i, schemaDepth))));
+        }
+        contract.put("paths", paths);
+
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Error", object(Map.of(
+                "code", Map.of("type", "integer"),
+                "message", Map.of("type", "string"))));
+        schemas.put("Pagination", object(Map.of(
+                "page", Map.of("type", "integer"),
+                "total", Map.of("type", "integer"),
+                "items", Map.of("type", "array", "items", Map.of("type", "string")))));
+        for (int i = 0; i < resourceCount; i++) {
+            for (int level = 0; level < schemaDepth; level++) {
+                Map<String, Object> properties = new LinkedHashMap<>();
+                properties.put("id", Map.of("type", "integer", "example", 42));
+                properties.put("name", Map.of("type", "string"));
+                properties.put("status", Map.of("type", "string", "enum", List.of("ACTIVE", "INACTIVE")));
+                properties.put("tags", Map.of("type", "array", "items", Map.of("type", "string")));
+                if (level + 1 < schemaDepth) {
+                    properties.put("child", Map.of("$ref", "#/components/schemas/Entity" + i + "_" + (level + 1)));
+                    properties.put("children", Map.of("type", "array",
+                            "items", Map.of("$ref", "#/components/schemas/Entity" + i + "_" + (level + 1))));
+                }
+                schemas.put("Entity" + i + "_" + level, object(properties));
+            }
+        }
+        contract.put("components", Map.of("schemas", schemas));
+
+        try {
+            return format == Format.JSON
+                    ? Json.mapper().writeValueAsString(contract)
+                    : Yaml.mapper().writeValueAsString(contract);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo generar el contrato sintético", e);
+        }
+    }
+
+    private static String entityRef(int index, int schemaDepth) {
+        return schemaDepth > 0 ? "#/components/schemas/Entity" + index + "_0" : "#/components/schemas/Error";
+    }
+
+    private static Map<String, Object> operation(String summary, List<Map<String, Object>> parameters,
+                                                 String requestRef, String responseRef) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put("summary", summary);
+        operation.put("parameters", parameters);
+        if (requestRef != null) {
+            operation.put("requestBody", Map.of("content", Map.of("application/json",
+                    Map.of("schema", Map.of("$ref", requestRef)))));
+        }
+        operation.put("responses", Map.of(
+                "200", Map.of("description", "OK", "content", Map.of("application/json",
+                        Map.of("schema", Map.of("$ref", responseRef)))),
+                "400", Map.of("description", "Error", "content", Map.of("application/json",
+                        Map.of("schema", Map.of("$ref", "#/components/schemas/Error"))))));
+        return operation;
+    }
+
+    private static Map<String, Object> parameter(String name, String in, boolean required, String type) {
+        return Map.of("name", name, "in", in, "required", required, "schema", Map.of("type", type));
+    }
+
+    private static Map<String, Object> object(Map<String, Object> properties) {
+        return Map.of("type", "object", "properties", properties);
+    }
+}